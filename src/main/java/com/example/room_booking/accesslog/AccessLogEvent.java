@@ -0,0 +1,22 @@
+package com.example.room_booking.accesslog;
+
+import org.slf4j.Logger;
+
+/**
+ * One access log entry. The fields are attached as key-value pairs, so the structured
+ * encoder writes them as JSON fields on the appender's thread, not the request's.
+ */
+public record AccessLogEvent(String method, String uri, String handler, String user, int status, long latencyMs) {
+
+    public void logTo(Logger logger) {
+        logger.atInfo()
+                .setMessage("access")
+                .addKeyValue("method", method)
+                .addKeyValue("uri", uri)
+                .addKeyValue("handler", handler)
+                .addKeyValue("user", user)
+                .addKeyValue("status", status)
+                .addKeyValue("latency_ms", latencyMs)
+                .log();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.room_booking.accesslog;
+
+import com.example.room_booking.config.HandlerNames;
+import com.example.room_booking.user.CurrentUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Writes one structured event per sampled request to the {@code access} logger, which
+ * logback-spring.xml sends to an async JSON appender. Runs before Spring Security so
+ * that rejected requests are logged too.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+    private final CurrentUser currentUser;
+    private final AccessLogSampler sampler;
+
+    public AccessLogFilter(CurrentUser currentUser,
+                           @Value("${access-log.sample-rate:0.1}") double sampleRate,
+                           @Value("${access-log.slow-threshold-ms:500}") long slowThresholdMs) {
+        this.currentUser = currentUser;
+        this.sampler = new AccessLogSampler(sampleRate, slowThresholdMs);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NotNull HttpServletRequest request,
+            @NotNull HttpServletResponse response,
+            @NotNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long latencyMs = (System.nanoTime() - start) / 1_000_000;
+            int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            if (accessLog.isInfoEnabled() && sampler.shouldLog(status, latencyMs)) {
+                new AccessLogEvent(request.getMethod(), request.getRequestURI(), HandlerNames.of(request),
+                        currentUser.getUsername(), status, latencyMs).logTo(accessLog);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.room_booking.accesslog;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which requests reach the access log: every failed (4xx, 5xx) or slow request,
+ * and a random {@code sampleRate} share of the rest.
+ */
+public class AccessLogSampler {
+    private final double sampleRate;
+    private final long slowThresholdMs;
+
+    public AccessLogSampler(double sampleRate, long slowThresholdMs) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("access-log.sample-rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public boolean shouldLog(int status, long latencyMs) {
+        return status >= 400
+                || latencyMs >= slowThresholdMs
+                || sampleRate >= 1
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.room_booking.audit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Entities opt in to auditing with {@code @Audited} on the entity class; {@code audit.mode}
+ * decides how their changes are recorded. Envers is only switched on in
+ * {@link AuditMode#SYNC} mode, so the other modes add no {@code _aud} tables and no work to
+ * the changing transaction.
+ */
+@Configuration
+public class AuditConfig {
+    private static final String ENVERS_ENABLED = "hibernate.integration.envers.enabled";
+
+    @Bean
+    public HibernatePropertiesCustomizer auditHibernateProperties(@Value("${audit.mode:async}") AuditMode mode) {
+        return properties -> properties.put(ENVERS_ENABLED, mode == AuditMode.SYNC);
+    }
+}
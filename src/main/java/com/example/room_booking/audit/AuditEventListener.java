@@ -0,0 +1,131 @@
+package com.example.room_booking.audit;
+
+import com.example.room_booking.user.CurrentUser;
+import com.example.room_booking.user.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.envers.Audited;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Hands every committed insert, update and delete of an {@code @Audited} entity to the
+ * {@link AuditWriter}. Hibernate calls these listeners only after the transaction has
+ * committed, so rolled-back changes are never recorded. Bulk JPQL updates and deletes
+ * bypass them, as they bypass Envers.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.mode", havingValue = "async", matchIfMissing = true)
+@RequiredArgsConstructor
+public class AuditEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventListener.class);
+    private final AuditWriter auditWriter;
+    private final ObjectMapper objectMapper;
+    private final CurrentUser currentUser;
+    private final EntityManagerFactory entityManagerFactory;
+    private PersistenceUnitUtil persistenceUnitUtil;
+
+    @PostConstruct
+    void register() {
+        persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.getMappedClass().isAnnotationPresent(Audited.class);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getPersister(), event.getEntity(), event.getId(), RevisionType.ADD, event.getState());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getPersister(), event.getEntity(), event.getId(), RevisionType.MOD, event.getState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getPersister(), event.getEntity(), event.getId(), RevisionType.DEL, event.getDeletedState());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void record(EntityPersister persister, Object entity, Object id, RevisionType type, Object[] state) {
+        try {
+            auditWriter.enqueue(AuditRecord.builder()
+                    .entityType(persister.getMappedClass().getSimpleName())
+                    .entityId(((Number) id).longValue())
+                    .revisionType(type)
+                    .entityVersion(persister.isVersioned() ? (Long) persister.getVersion(entity) : null)
+                    // null for changes made outside a user's request, e.g. by scheduled jobs
+                    .changedBy(currentUser.get().map(User::getUsername).orElse(null))
+                    .changedAt(Instant.now())
+                    .state(snapshot(persister, state))
+                    .build());
+        } catch (JsonProcessingException | RuntimeException e) {
+            // the change is already committed, so failing here would only hide it from the caller
+            logger.error("Failed to record {} of {} {}", type, persister.getMappedClass().getSimpleName(), id, e);
+        }
+    }
+
+    /**
+     * Serialises the entity's columns, with associations reduced to their ids and
+     * collections left out.
+     */
+    private String snapshot(EntityPersister persister, Object[] state) throws JsonProcessingException {
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (types[i].isCollectionType()) {
+                continue;
+            }
+            Object value = state[i];
+            values.put(names[i], types[i].isEntityType() && value != null
+                    ? persistenceUnitUtil.getIdentifier(value)
+                    : value);
+        }
+        return objectMapper.writeValueAsString(values);
+    }
+}
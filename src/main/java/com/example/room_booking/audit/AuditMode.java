@@ -0,0 +1,20 @@
+package com.example.room_booking.audit;
+
+/**
+ * How changes to {@code @Audited} entities are recorded, selected with {@code audit.mode}.
+ */
+public enum AuditMode {
+    /**
+     * Envers writes a revision and an {@code _aud} row inside the changing transaction.
+     */
+    SYNC,
+    /**
+     * Committed changes are queued and written to {@code audit_log} in batches by the
+     * {@link AuditWriter}, outside the changing transaction.
+     */
+    ASYNC,
+    /**
+     * Nothing is recorded.
+     */
+    OFF
+}
@@ -0,0 +1,56 @@
+package com.example.room_booking.audit;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.jackson.Jacksonized;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.envers.RevisionType;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * Snapshot of an audited entity after a committed change, written by the
+ * {@link AuditWriter} in {@link AuditMode#ASYNC} mode.
+ */
+@Entity
+@Table(name = "audit_log", indexes = {
+        @Index(name = "idx_audit_log_entity", columnList = "entity_type, entity_id")
+})
+@Getter
+@Builder(toBuilder = true)
+@Jacksonized
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    private Long id;
+
+    @Column(name = "entity_type", nullable = false, length = 40)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // Envers registers RevisionType as a tinyint, which would otherwise win in the schema
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 3)
+    private RevisionType revisionType;
+
+    private Long entityVersion;
+
+    @Column(length = 100)
+    private String changedBy;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+
+    @Column(nullable = false, length = 4000)
+    private String state;
+}
@@ -0,0 +1,9 @@
+package com.example.room_booking.audit;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface AuditRecordRepository extends JpaRepository<AuditRecord, Long> {
+    List<AuditRecord> findByEntityTypeAndEntityIdOrderByIdAsc(String entityType, Long entityId);
+}
@@ -0,0 +1,24 @@
+package com.example.room_booking.audit;
+
+import com.example.room_booking.worker.FileSpool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Audit records that could not be queued or written, replayed by the {@link AuditWriter}.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.mode", havingValue = "async", matchIfMissing = true)
+public class AuditSpool extends FileSpool<AuditRecord> {
+
+    public AuditSpool(ObjectMapper objectMapper,
+                      @Value("${audit.writer.spool-file:data/audit-spool.ndjson}") Path file,
+                      @Value("${audit.writer.dead-letter-file:data/audit-dead-letter.ndjson}") Path deadLetterFile,
+                      @Value("${audit.writer.spool-max-attempts:10}") int maxAttempts) {
+        super(objectMapper, AuditRecord.class, file, deadLetterFile, maxAttempts);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.room_booking.audit;
+
+import com.example.room_booking.worker.BatchWorker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Writes audit records to {@code audit_log} off the request thread, in batches, through a
+ * {@link BatchWorker}; this is the default {@code audit.mode}. A committing thread waits
+ * at most {@code enqueue-timeout-ms} for space in the queue. Records that cannot be queued
+ * or written go to the {@link AuditSpool}, which is replayed every
+ * {@code spool-replay-interval-ms} and on startup, and dead-letters a record once its
+ * batch has failed {@code spool-max-attempts} times. Records are only lost if the process
+ * dies while they are queued in memory.
+ * <p>
+ * Exposes {@code audit.writer.written} (records) and {@code audit.writer.queue} (records
+ * waiting).
+ */
+@Component
+@ConditionalOnProperty(name = "audit.mode", havingValue = "async", matchIfMissing = true)
+public class AuditWriter extends BatchWorker<AuditRecord> {
+    private final AuditRecordRepository auditRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter written;
+
+    public AuditWriter(AuditRecordRepository auditRecordRepository,
+                       AuditSpool spool,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+                       @Value("${audit.writer.batch-size:200}") int batchSize,
+                       @Value("${audit.writer.linger-ms:50}") long lingerMillis,
+                       @Value("${audit.writer.max-attempts:5}") int maxAttempts,
+                       @Value("${audit.writer.retry-backoff-ms:200}") long retryBackoffMillis,
+                       @Value("${audit.writer.enqueue-timeout-ms:50}") long enqueueTimeoutMillis,
+                       @Value("${audit.writer.spool-replay-chunk:1000}") int replayChunk) {
+        super("audit-writer", "audit records", spool, new Settings(queueCapacity, batchSize,
+                lingerMillis, maxAttempts, retryBackoffMillis, enqueueTimeoutMillis, replayChunk));
+        this.auditRecordRepository = auditRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.written = Counter.builder("audit.writer.written")
+                .description("Audit records written")
+                .register(meterRegistry);
+        Gauge.builder("audit.writer.queue", this, AuditWriter::getQueueSize)
+                .description("Audit records waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${audit.writer.spool-replay-interval-ms:60000}",
+            fixedDelayString = "${audit.writer.spool-replay-interval-ms:60000}")
+    public void replaySpool() {
+        super.replaySpool();
+    }
+
+    @Override
+    protected void send(List<AuditRecord> batch) {
+        // a failed attempt may have assigned ids, so every attempt inserts fresh copies
+        List<AuditRecord> records = batch.stream()
+                .map(record -> record.toBuilder().id(null).build())
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> auditRecordRepository.saveAll(records));
+        written.increment(batch.size());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.room_booking.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Counts failed logins and rejected tokens by reason.
+ */
+@Component
+public class AuthenticationMetrics {
+    private final Map<Failure, Counter> failures = new EnumMap<>(Failure.class);
+
+    public AuthenticationMetrics(MeterRegistry meterRegistry) {
+        for (Failure failure : Failure.values()) {
+            failures.put(failure, Counter.builder("auth.failures")
+                    .description("Failed logins and rejected tokens")
+                    .tag("reason", failure.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    public void failed(Failure failure) {
+        failures.get(failure).increment();
+    }
+
+    public enum Failure {
+        BAD_CREDENTIALS, INVALID_TOKEN, REVOKED_TOKEN
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.room_booking.auth;
 
+import com.example.room_booking.auth.AuthenticationMetrics.Failure;
 import com.example.room_booking.config.JwtService;
 import com.example.room_booking.token.Token;
 import com.example.room_booking.token.TokenRepository;
+import com.example.room_booking.token.TokenRevocations;
 import com.example.room_booking.token.TokenType;
 import com.example.room_booking.user.User;
+import com.example.room_booking.user.UserCache;
 import com.example.room_booking.user.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,11 +18,13 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
+import java.time.Instant;
 
 @Slf4j
 @Service
@@ -30,6 +35,9 @@ public class AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserCache userCache;
+    private final TokenRevocations tokenRevocations;
+    private final AuthenticationMetrics metrics;
 
     public AuthenticationResponse register(RegisterRequest request) {
         var user = repository.findByUsername(request.getUsername()).orElse(null);
@@ -43,6 +51,7 @@ public class AuthenticationService {
                 .role(request.getRole())
                 .build();
         var savedUser = repository.save(user);
+        userCache.evict(savedUser.getUsername());
         var jwtToken = jwtService.generateToken(user);
         var refreshToken = jwtService.generateRefreshToken(user);
         saveUserToken(savedUser, jwtToken);
@@ -54,17 +63,22 @@ public class AuthenticationService {
     }
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getUsername(),
+                            request.getPassword()
+                    )
+            );
+        } catch (AuthenticationException e) {
+            metrics.failed(Failure.BAD_CREDENTIALS);
+            throw e;
+        }
         var user = repository.findByUsername(request.getUsername())
                 .orElseThrow();
+        revokeAllUserTokens(user);
         var jwtToken = jwtService.generateToken(user);
         var refreshToken = jwtService.generateRefreshToken(user);
-        revokeAllUserTokens(user);
         saveUserToken(user, jwtToken);
         log.debug("Role [{}] Token [{}]", user.getRole(), jwtToken);
         return AuthenticationResponse.builder()
@@ -80,46 +94,61 @@ public class AuthenticationService {
                 .tokenType(TokenType.BEARER)
                 .expired(false)
                 .revoked(false)
+                .expiresAt(Instant.now().plus(jwtService.getAccessTokenValidity()))
                 .build();
         tokenRepository.save(token);
     }
 
+    /**
+     * Revokes the user's earlier tokens. Must run before the replacement token is issued,
+     * otherwise the replacement would be revoked as well.
+     */
     private void revokeAllUserTokens(User user) {
-        var validUserTokens = tokenRepository.findAllValidTokenByUser(user.getId());
-        if (validUserTokens.isEmpty())
-            return;
-        validUserTokens.forEach(token -> {
-            token.setExpired(true);
-            token.setRevoked(true);
-        });
-        tokenRepository.saveAll(validUserTokens);
+        userCache.evict(user.getUsername());
+        tokenRevocations.revokeAll(user);
+        tokenRepository.revokeAllByUser(user.getId());
     }
 
+    /**
+     * Issues a new access token and a new refresh token. Revoking the user's earlier
+     * tokens also revokes the presented refresh token, so it is replaced rather than
+     * returned. A revoked or invalid refresh token gets a 401, telling the client to log in
+     * again; a login elsewhere revokes this session's refresh token the same way.
+     */
     public void refreshToken(
             HttpServletRequest request,
             HttpServletResponse response
     ) throws IOException {
         final String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
-        final String refreshToken;
-        final String username;
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             return;
         }
-        refreshToken = authHeader.substring(7);
-        username = jwtService.extractUserName(refreshToken);
-        if (username != null) {
-            var user = this.repository.findByUsername(username)
+        final String refreshToken = authHeader.substring(7);
+        final var claims = jwtService.parse(refreshToken);
+        // a refresh token issued before its user's tokens were revoked must not mint new ones,
+        // nor revoke the tokens of the session that replaced it
+        if (claims.isPresent() && tokenRevocations.isRevoked(claims.get())) {
+            metrics.failed(Failure.REVOKED_TOKEN);
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        if (claims.isPresent()) {
+            var user = this.repository.findByUsername(claims.get().username())
                     .orElseThrow();
-            if (jwtService.validateToken(refreshToken, user)) {
-                var accessToken = jwtService.generateToken(user);
+            if (jwtService.isValidFor(claims.get(), user)) {
                 revokeAllUserTokens(user);
+                var accessToken = jwtService.generateToken(user);
+                var newRefreshToken = jwtService.generateRefreshToken(user);
                 saveUserToken(user, accessToken);
                 var authResponse = AuthenticationResponse.builder()
                         .accessToken(accessToken)
-                        .refreshToken(refreshToken)
+                        .refreshToken(newRefreshToken)
                         .build();
                 new ObjectMapper().writeValue(response.getOutputStream(), authResponse);
+                return;
             }
         }
+        metrics.failed(Failure.INVALID_TOKEN);
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
     }
 }
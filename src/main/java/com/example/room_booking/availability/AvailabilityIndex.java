@@ -0,0 +1,192 @@
+package com.example.room_booking.availability;
+
+import com.example.room_booking.cache.InvalidationGuard;
+import com.example.room_booking.repository.BookingRepository;
+import com.example.room_booking.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory calendar of every room's active stays, used to answer booking conflict
+ * checks and date-range availability searches without a database round trip. The
+ * index is loaded once the application is ready and is kept in sync with committed
+ * rooms, bookings and cancellations; changes committed while it loads are recorded and
+ * replayed over the loaded snapshot.
+ * <p>
+ * The index lives in this process and only learns of the changes made through it, so it
+ * assumes a single instance. With several, a conflict it misses is still refused by the
+ * room_night claims, but searches may show rooms booked elsewhere as free.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+    private static final Logger logger = LoggerFactory.getLogger(AvailabilityIndex.class);
+    private final BookingRepository bookingRepository;
+    private final RoomRepository roomRepository;
+    private final ConcurrentNavigableMap<Long, RoomCalendar> calendars = new ConcurrentSkipListMap<>();
+    // changes committed before the index is loaded, guarded by itself; null once replayed
+    private List<Runnable> pending = new ArrayList<>();
+    private volatile boolean ready;
+
+    @Value("${booking.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.index.horizon-days:730}")
+    private int horizonDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            logger.info("Availability index is disabled, availability checks will use the database");
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        roomRepository.findAllListings().forEach(listing ->
+                calendar(listing.roomId()).describe(listing.capacity(), listing.isAvailable()));
+        List<Stay> stays = bookingRepository.findActiveStaysEndingAfter(today);
+        stays.forEach(this::add);
+        replayPending();
+        ready = true;
+        logger.info("Availability index loaded {} stays for {} rooms", stays.size(), calendars.size());
+    }
+
+    /**
+     * Whether {@link #hasConflict} can be trusted for the given room. Until the index is
+     * loaded, or when a room's persisted bookings overlap each other, callers should fall
+     * back to the database.
+     */
+    public boolean canAnswer(Long roomId) {
+        if (!ready) {
+            return false;
+        }
+        RoomCalendar calendar = calendars.get(roomId);
+        return calendar == null || calendar.isConsistent();
+    }
+
+    public boolean hasConflict(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        RoomCalendar calendar = calendars.get(roomId);
+        return calendar != null && calendar.overlaps(checkIn, checkOut);
+    }
+
+    /**
+     * Whether {@link #findAvailableRooms} can answer a search for the given stay, which
+     * requires the whole stay to fall inside the rolling horizon.
+     */
+    public boolean canSearch(LocalDate checkIn, LocalDate checkOut) {
+        if (!ready) {
+            return false;
+        }
+        LocalDate today = LocalDate.now();
+        return !checkIn.isBefore(today) && !checkOut.isAfter(today.plusDays(horizonDays));
+    }
+
+    /**
+     * Ids of listed rooms with at least {@code capacity} places and no stay overlapping
+     * {@code [checkIn, checkOut)}, in id order. A room whose persisted bookings overlap
+     * each other is checked against the database instead of its calendar.
+     */
+    public List<Long> findAvailableRooms(LocalDate checkIn, LocalDate checkOut, int capacity, int page, int size) {
+        long from = checkIn.toEpochDay();
+        long to = checkOut.toEpochDay();
+        long today = LocalDate.now().toEpochDay();
+        long skip = (long) page * size;
+        List<Long> roomIds = new ArrayList<>(size);
+        for (var entry : calendars.entrySet()) {
+            RoomCalendar calendar = entry.getValue();
+            Integer roomCapacity = calendar.getCapacity();
+            if (!calendar.isListed() || roomCapacity == null || roomCapacity < capacity) {
+                continue;
+            }
+            boolean free = calendar.isConsistent()
+                    ? calendar.isFree(from, to, today)
+                    : !bookingRepository.existsConflictingBooking(entry.getKey(), checkIn, checkOut);
+            if (!free) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            roomIds.add(entry.getKey());
+            if (roomIds.size() == size) {
+                break;
+            }
+        }
+        return roomIds;
+    }
+
+    public void onRoomSaved(Long roomId, Integer capacity, boolean available) {
+        afterCommit(() -> calendar(roomId).describe(capacity, available));
+    }
+
+    public void onBooked(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        afterCommit(() -> add(new Stay(roomId, checkIn, checkOut)));
+    }
+
+    public void onCancelled(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        afterCommit(() -> {
+            RoomCalendar calendar = calendars.get(roomId);
+            if (calendar != null) {
+                calendar.remove(checkIn, checkOut, LocalDate.now().toEpochDay());
+            }
+        });
+    }
+
+    /**
+     * Applies the changes committed while the index was loading. The snapshot may already
+     * contain some of them; adding a stay twice or removing a missing one does nothing.
+     */
+    private void replayPending() {
+        List<Runnable> replayed;
+        synchronized (this) {
+            replayed = pending;
+            replayed.forEach(Runnable::run);
+            pending = null;
+        }
+        if (!replayed.isEmpty()) {
+            logger.info("Availability index replayed {} changes committed while it loaded", replayed.size());
+        }
+    }
+
+    private void add(Stay stay) {
+        if (!calendar(stay.roomId()).add(stay.checkInDate(), stay.checkOutDate(), LocalDate.now().toEpochDay())) {
+            logger.warn("Room {} has overlapping bookings around {} to {}, availability checks for it will use the database",
+                    stay.roomId(), stay.checkInDate(), stay.checkOutDate());
+        }
+    }
+
+    private RoomCalendar calendar(Long roomId) {
+        return calendars.computeIfAbsent(roomId, id -> new RoomCalendar(ringSize(), LocalDate.now().toEpochDay()));
+    }
+
+    private int ringSize() {
+        return (horizonDays + 63) & ~63;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (enabled) {
+            InvalidationGuard.afterCommit(() -> apply(action));
+        }
+    }
+
+    private void apply(Runnable action) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.add(action);
+                return;
+            }
+        }
+        action.run();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.room_booking.availability;
+
+import java.time.LocalDate;
+
+public record NightCount(
+        LocalDate night,
+        long occupiedRooms
+) {
+}
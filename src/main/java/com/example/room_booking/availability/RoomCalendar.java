@@ -0,0 +1,131 @@
+package com.example.room_booking.availability;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Stays of a single room ordered by check-in date. Stays never overlap, so the only
+ * candidate for a conflict is the last stay that starts before the requested check-out.
+ * <p>
+ * Nights inside the rolling search horizon are mirrored in a ring bitmap indexed by
+ * epoch day, one bit per night, so date-range searches test a few words per room. The
+ * horizon starts at the current day and is rolled forward lazily by every operation.
+ */
+class RoomCalendar {
+    private final NavigableMap<LocalDate, LocalDate> stays = new TreeMap<>();
+    private final long[] nights;
+    private final int ringSize;
+    private long horizonStart;
+    private boolean consistent = true;
+    private volatile Integer capacity;
+    private volatile boolean listed;
+
+    RoomCalendar(int ringSize, long today) {
+        this.nights = new long[ringSize >>> 6];
+        this.ringSize = ringSize;
+        this.horizonStart = today;
+    }
+
+    synchronized boolean overlaps(LocalDate checkIn, LocalDate checkOut) {
+        Map.Entry<LocalDate, LocalDate> previous = stays.lowerEntry(checkOut);
+        return previous != null && previous.getValue().isAfter(checkIn);
+    }
+
+    synchronized boolean add(LocalDate checkIn, LocalDate checkOut, long today) {
+        roll(today);
+        if (checkOut.equals(stays.get(checkIn))) {
+            return true;
+        }
+        if (overlaps(checkIn, checkOut)) {
+            consistent = false;
+            return false;
+        }
+        stays.put(checkIn, checkOut);
+        mark(checkIn.toEpochDay(), checkOut.toEpochDay(), horizonStart, horizonStart + ringSize, true);
+        return true;
+    }
+
+    synchronized void remove(LocalDate checkIn, LocalDate checkOut, long today) {
+        roll(today);
+        if (stays.remove(checkIn, checkOut)) {
+            mark(checkIn.toEpochDay(), checkOut.toEpochDay(), horizonStart, horizonStart + ringSize, false);
+        }
+    }
+
+    synchronized boolean isFree(long from, long to, long today) {
+        roll(today);
+        for (long day = from; day < to; ) {
+            int bit = (int) Math.floorMod(day, (long) ringSize);
+            int span = (int) Math.min(64 - (bit & 63), to - day);
+            if ((nights[bit >>> 6] & mask(bit, span)) != 0) {
+                return false;
+            }
+            day += span;
+        }
+        return true;
+    }
+
+    synchronized boolean isConsistent() {
+        return consistent;
+    }
+
+    Integer getCapacity() {
+        return capacity;
+    }
+
+    boolean isListed() {
+        return listed;
+    }
+
+    void describe(Integer capacity, boolean listed) {
+        this.capacity = capacity;
+        this.listed = listed;
+    }
+
+    /**
+     * Recycles the bits of the nights that have passed for the nights that have just
+     * entered the horizon, which share the same ring positions, and drops the stays that
+     * have ended.
+     */
+    private void roll(long today) {
+        if (today <= horizonStart) {
+            return;
+        }
+        long from = Math.max(horizonStart, today - ringSize);
+        apply(from, today, false);
+        LocalDate entering = LocalDate.ofEpochDay(from + ringSize);
+        LocalDate first = stays.floorKey(entering);
+        for (Map.Entry<LocalDate, LocalDate> stay : stays.subMap(first == null ? entering : first, true,
+                LocalDate.ofEpochDay(today + ringSize), false).entrySet()) {
+            mark(stay.getKey().toEpochDay(), stay.getValue().toEpochDay(), from + ringSize, today + ringSize, true);
+        }
+        // stays that have ended cannot conflict with a booking; they end in check-in order
+        while (!stays.isEmpty() && stays.firstEntry().getValue().toEpochDay() <= today) {
+            stays.pollFirstEntry();
+        }
+        horizonStart = today;
+    }
+
+    private void mark(long checkIn, long checkOut, long horizonStart, long horizonEnd, boolean occupied) {
+        apply(Math.max(checkIn, horizonStart), Math.min(checkOut, horizonEnd), occupied);
+    }
+
+    private void apply(long from, long to, boolean occupied) {
+        for (long day = from; day < to; ) {
+            int bit = (int) Math.floorMod(day, (long) ringSize);
+            int span = (int) Math.min(64 - (bit & 63), to - day);
+            if (occupied) {
+                nights[bit >>> 6] |= mask(bit, span);
+            } else {
+                nights[bit >>> 6] &= ~mask(bit, span);
+            }
+            day += span;
+        }
+    }
+
+    private static long mask(int bit, int span) {
+        return (span == 64 ? -1L : (1L << span) - 1) << (bit & 63);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.room_booking.availability;
+
+public record RoomListing(
+        Long roomId,
+        Integer capacity,
+        Boolean isAvailable
+) {
+}
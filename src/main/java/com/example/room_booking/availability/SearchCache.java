@@ -0,0 +1,98 @@
+package com.example.room_booking.availability;
+
+import com.example.room_booking.cache.InvalidationGuard;
+import com.example.room_booking.dto.RoomResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Results of date-range availability searches by {@link SearchKey}. A committed booking
+ * or cancellation drops only the searches whose stay overlaps its nights, new rooms drop
+ * everything. The booking service reports changed nights directly rather than through
+ * booking events, so a batch is one pass over the cache. Writes made through another
+ * instance are picked up when entries expire.
+ */
+@Component
+public class SearchCache {
+    private final Cache<SearchKey, List<RoomResponse>> results;
+    private final InvalidationGuard guard = new InvalidationGuard();
+    private final boolean enabled;
+
+    public SearchCache(MeterRegistry meterRegistry,
+                       @Value("${search.cache.enabled:true}") boolean enabled,
+                       @Value("${search.cache.maximum-size:10000}") long maximumSize,
+                       @Value("${search.cache.expire-after-write:60}") long expireAfterWrite) {
+        this.enabled = enabled;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "availabilitySearch");
+    }
+
+    public List<RoomResponse> get(SearchKey key, Supplier<List<RoomResponse>> search) {
+        if (!enabled) {
+            return search.get();
+        }
+        List<RoomResponse> cached = results.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        return guard.load(search, rooms -> results.put(key, rooms), rooms -> results.invalidate(key));
+    }
+
+    /**
+     * Drops the searches whose stay overlaps {@code [checkIn, checkOut)} once the current
+     * transaction commits.
+     */
+    public void onNightsChanged(LocalDate checkIn, LocalDate checkOut) {
+        guard.invalidateAfterCommit(() -> invalidateOverlapping(checkIn, checkOut));
+    }
+
+    /**
+     * Drops the searches overlapping any of the stays once the current transaction
+     * commits, in one pass over the cache.
+     */
+    public void onStaysChanged(Collection<Stay> stays) {
+        if (stays.isEmpty()) {
+            return;
+        }
+        long first = stays.stream().mapToLong(stay -> stay.checkInDate().toEpochDay()).min().orElseThrow();
+        BitSet nights = new BitSet();
+        for (Stay stay : stays) {
+            nights.set((int) (stay.checkInDate().toEpochDay() - first), (int) (stay.checkOutDate().toEpochDay() - first));
+        }
+        guard.invalidateAfterCommit(() -> results.asMap().keySet().removeIf(key -> {
+            int from = (int) Math.max(key.checkIn() - first, 0);
+            int to = (int) Math.min(key.checkOut() - first, nights.length());
+            int changed = from < to ? nights.nextSetBit(from) : -1;
+            return changed >= 0 && changed < to;
+        }));
+    }
+
+    public void onRoomsChanged() {
+        guard.invalidateAfterCommit(results::invalidateAll);
+    }
+
+    boolean contains(SearchKey key) {
+        return results.getIfPresent(key) != null;
+    }
+
+    private void invalidateOverlapping(LocalDate checkIn, LocalDate checkOut) {
+        long from = checkIn.toEpochDay();
+        long to = checkOut.toEpochDay();
+        results.asMap().keySet().removeIf(key -> key.overlaps(from, to));
+    }
+}
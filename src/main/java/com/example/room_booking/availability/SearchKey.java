@@ -0,0 +1,18 @@
+package com.example.room_booking.availability;
+
+import java.time.LocalDate;
+
+/**
+ * A validated availability search reduced to epoch days and numbers, so that equal
+ * searches map to the same cache entry however their parameters were written.
+ */
+public record SearchKey(long checkIn, long checkOut, int capacity, int page, int size) {
+
+    public static SearchKey of(LocalDate checkIn, LocalDate checkOut, int capacity, int page, int size) {
+        return new SearchKey(checkIn.toEpochDay(), checkOut.toEpochDay(), capacity, page, size);
+    }
+
+    boolean overlaps(long from, long to) {
+        return checkIn < to && from < checkOut;
+    }
+}
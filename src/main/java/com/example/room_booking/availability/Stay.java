@@ -0,0 +1,10 @@
+package com.example.room_booking.availability;
+
+import java.time.LocalDate;
+
+public record Stay(
+        Long roomId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate
+) {
+}
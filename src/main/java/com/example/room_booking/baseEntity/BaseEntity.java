@@ -3,7 +3,10 @@ package com.example.room_booking.baseEntity;
 import com.example.room_booking.user.User;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.hibernate.envers.Audited;
+import org.hibernate.envers.RelationTargetAuditMode;
 import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.CreatedDate;
@@ -16,11 +19,15 @@ import java.time.LocalDateTime;
 @EntityListeners({AuditingEntityListener.class})
 @MappedSuperclass
 @Data
+// Audits these columns for subclasses that opt in with their own @Audited; on its own it
+// audits nothing. See AuditConfig.
 @Audited
 public class BaseEntity {
 
+    // One sequence per entity (booking_seq, rooms_seq, ...), allocated 50 ids at a time.
+    // IDENTITY would force Hibernate to insert rows one by one to learn their ids.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     private Long id;
 
     @Version
@@ -35,10 +42,16 @@ public class BaseEntity {
     private LocalDateTime lastModificationDate;
 
     @CreatedBy
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @Audited(targetAuditMode = RelationTargetAuditMode.NOT_AUDITED)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User creator;
 
     @LastModifiedBy
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @Audited(targetAuditMode = RelationTargetAuditMode.NOT_AUDITED)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private User lastModifier;
 }
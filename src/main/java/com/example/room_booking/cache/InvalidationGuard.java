@@ -0,0 +1,60 @@
+package com.example.room_booking.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps an in-memory cache in step with committed data. Invalidations run once the current
+ * transaction commits, so a rollback leaves the cache alone, and each one bumps a
+ * generation counter: a value loaded while an invalidation ran may have been read before
+ * the change, so it is returned but not kept.
+ */
+public class InvalidationGuard {
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Runs {@code action} once the current transaction commits, or right away outside one.
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public void invalidateAfterCommit(Runnable invalidation) {
+        afterCommit(() -> invalidate(invalidation));
+    }
+
+    public void invalidate(Runnable invalidation) {
+        generation.incrementAndGet();
+        invalidation.run();
+    }
+
+    /**
+     * Loads a value and stores it, unless an invalidation ran meanwhile. An invalidation
+     * that runs between the check and the store may have missed the new entry, so the
+     * value is evicted again if the generation moved.
+     */
+    public <V> V load(Supplier<V> loader, Consumer<V> store, Consumer<V> evict) {
+        long seen = generation.get();
+        V value = loader.get();
+        if (generation.get() == seen) {
+            store.accept(value);
+            if (generation.get() != seen) {
+                evict.accept(value);
+            }
+        }
+        return value;
+    }
+}
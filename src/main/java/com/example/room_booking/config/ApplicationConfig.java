@@ -1,9 +1,13 @@
 package com.example.room_booking.config;
 
+import com.example.room_booking.user.CurrentUser;
+import com.example.room_booking.user.User;
 import com.example.room_booking.user.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -24,6 +28,15 @@ public class ApplicationConfig {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
+    /**
+     * Fills {@code @CreatedBy} and {@code @LastModifiedBy}. The columns only need the
+     * user's id, so a reference is used instead of loading the user again.
+     */
+    @Bean
+    public AuditorAware<User> auditorAware(CurrentUser currentUser, EntityManager entityManager) {
+        return () -> currentUser.get().map(user -> entityManager.getReference(User.class, user.getId()));
+    }
+
     @Bean
     public AuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -2,14 +2,20 @@ package com.example.room_booking.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
-import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
@@ -23,33 +29,46 @@ public class CacheConfig {
 
     private static final String[] CACHE_NAMES = {"rooms", "bookings"};
 
+    /**
+     * Each cache can be tuned with a Caffeine spec under {@code cache.specs.<name>}, e.g.
+     * {@code cache.specs.bookings=maximumSize=10000,expireAfterWrite=10m}. Caches without a
+     * spec use the global size and expiry. Statistics are always recorded so that hits,
+     * misses and evictions are exported to Prometheus.
+     * <p>
+     * The caches are the default ones plus every name under {@code cache.specs}; no others
+     * are created on demand, so a misspelled cache name fails instead of getting an
+     * untuned cache.
+     */
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(Environment environment) {
+        Map<String, String> specs = Binder.get(environment)
+                .bind("cache.specs", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        Set<String> names = new TreeSet<>(Arrays.asList(CACHE_NAMES));
+        names.addAll(specs.keySet());
+
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCacheNames(Arrays.asList(CACHE_NAMES));
         cacheManager.setCaffeine(caffeineCacheBuilder());
+        cacheManager.setCacheNames(names);
+        specs.forEach((name, spec) -> cacheManager.registerCustomCache(name, Caffeine.from(spec).recordStats().build()));
         return cacheManager;
     }
 
+    /**
+     * Returns the named cache, failing if the cache manager does not define it.
+     */
+    public static Cache requireCache(CacheManager cacheManager, String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("No cache named '" + name + "', add it to cache.specs");
+        }
+        return cache;
+    }
+
     Caffeine<Object, Object> caffeineCacheBuilder() {
         return Caffeine.newBuilder()
                 .expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS)
                 .maximumSize(maximumSize)
                 .recordStats(); // Enable statistics
     }
-
-    @Bean
-    public KeyGenerator customKeyGenerator() {
-        return (target, method, params) -> {
-            StringBuilder sb = new StringBuilder();
-            sb.append(target.getClass().getSimpleName());
-            sb.append(":");
-            sb.append(method.getName());
-            for (Object param : params) {
-                sb.append(":");
-                sb.append(param != null ? param.toString() : "null");
-            }
-            return sb.toString();
-        };
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package com.example.room_booking.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link BulkheadDataSource} sized to the
+ * connection pool, so that thousands of concurrent (virtual) request threads queue in
+ * front of the pool rather than inside it. On by default only with virtual threads; the
+ * Tomcat thread pool already bounds platform request threads.
+ */
+@Component
+public class DataSourceBulkheadPostProcessor implements BeanPostProcessor {
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceBulkheadPostProcessor.class);
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final long acquireTimeout;
+
+    public DataSourceBulkheadPostProcessor(
+            @Value("${datasource.bulkhead.enabled:${spring.threads.virtual.enabled:false}}") boolean enabled,
+            @Value("${datasource.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${datasource.bulkhead.acquire-timeout:5000}") long acquireTimeout) {
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+            return bean;
+        }
+        logger.info("Limiting data source '{}' to {} concurrent connections, waiting at most {}ms",
+                beanName, maxConcurrent, acquireTimeout);
+        return new BulkheadDataSource(dataSource, maxConcurrent, Duration.ofMillis(acquireTimeout));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.room_booking.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+public final class HandlerNames {
+
+    private HandlerNames() {
+    }
+
+    /**
+     * {@code Controller.method} of the handler that served the request, or {@code null}
+     * if it did not reach one (rejected by a filter, no matching route).
+     */
+    public static String of(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return null;
+    }
+}
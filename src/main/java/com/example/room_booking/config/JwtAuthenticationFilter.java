@@ -1,26 +1,38 @@
 package com.example.room_booking.config;
 
+import com.example.room_booking.auth.AuthenticationMetrics;
+import com.example.room_booking.auth.AuthenticationMetrics.Failure;
+import com.example.room_booking.token.TokenRevocations;
+import com.example.room_booking.user.CurrentUser;
+import com.example.room_booking.user.User;
+import com.example.room_booking.user.UserCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserCache userCache;
+    private final TokenRevocations tokenRevocations;
+    private final CurrentUser currentUser;
+    private final AuthenticationMetrics metrics;
+
+    @Value("${security.jwt.claims-principal:false}")
+    private boolean claimsPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -35,20 +47,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        final String username;
-        final String jwtToken;
-        jwtToken = authHeader.substring(7);
-        username = jwtService.extractUserName(jwtToken);
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-            if (jwtService.validateToken(jwtToken, userDetails)) {
-                System.out.println("In");
+        final String jwtToken = authHeader.substring(7);
+        final Optional<TokenClaims> claims = jwtService.parse(jwtToken);
+        if (claims.isEmpty()) {
+            metrics.failed(Failure.INVALID_TOKEN);
+        } else if (tokenRevocations.isRevoked(claims.get())) {
+            metrics.failed(Failure.REVOKED_TOKEN);
+        } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            User user = loadPrincipal(claims.get());
+            if (user != null && jwtService.isValidFor(claims.get(), user)) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        user, null, user.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                currentUser.set(request, user);
+            } else {
+                metrics.failed(Failure.INVALID_TOKEN);
             }
         }
         filterChain.doFilter(request, response);
     }
+
+    private User loadPrincipal(TokenClaims claims) {
+        if (claimsPrincipal) {
+            User principal = claims.toPrincipal();
+            if (principal != null) {
+                return principal;
+            }
+        }
+        return userCache.find(claims.username()).orElse(null);
+    }
 }
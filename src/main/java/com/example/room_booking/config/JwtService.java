@@ -1,7 +1,15 @@
 package com.example.room_booking.config;
 
+import com.example.room_booking.user.Role;
+import com.example.room_booking.user.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -9,32 +17,88 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class JwtService {
 
-
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
     private static final long EXPIRATION_TIME = 864_000_000;
     private static final long REFRESH_TOKEN_VALIDITY = 604_800_000;
+    private static final String ROLE_CLAIM = "role";
+    private static final String USER_ID_CLAIM = "uid";
+
+    private final Key signKey;
+    private final JwtParser parser;
+    private final Cache<String, TokenClaims> verifiedTokens;
+
+    public JwtService(@Value("${security.jwt.secret-key}") String secretKey,
+                      @Value("${security.jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String key, TokenClaims claims, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), claims.expiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
 
-    public String extractUserName(String token) {
-        return extractClaim(token, Claims::getSubject);
+                    @Override
+                    public long expireAfterRead(String key, TokenClaims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimResolver.apply(claims);
+    /**
+     * Verifies the token's signature and expiry once and returns its claims, or an empty
+     * result when the token is malformed, forged or expired. Verified tokens are
+     * remembered by hash until they expire.
+     */
+    public Optional<TokenClaims> parse(String token) {
+        String key = hash(token);
+        TokenClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached.isExpired() ? Optional.empty() : Optional.of(cached);
+        }
+        try {
+            TokenClaims claims = toTokenClaims(parser.parseClaimsJws(token).getBody());
+            verifiedTokens.put(key, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public boolean isValidFor(TokenClaims claims, UserDetails userDetails) {
+        return claims.username().equals(userDetails.getUsername()) && !claims.isExpired();
+    }
+
+    public Duration getAccessTokenValidity() {
+        return Duration.ofMillis(EXPIRATION_TIME);
     }
 
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails, EXPIRATION_TIME);
+        return generateToken(principalClaims(userDetails), userDetails, EXPIRATION_TIME);
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
@@ -47,37 +111,45 @@ public class JwtService {
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                // a unique id keeps two tokens issued to the same user in the same second apart
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUserName(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Map<String, Object> principalClaims(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user && user.getId() != null && user.getRole() != null) {
+            claims.put(ROLE_CLAIM, user.getRole().name());
+            claims.put(USER_ID_CLAIM, user.getId());
+        }
+        return claims;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static TokenClaims toTokenClaims(Claims claims) {
+        if (claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new MalformedJwtException("Token has no subject or expiration");
+        }
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        return new TokenClaims(
+                claims.getSubject(),
+                role == null ? null : Role.valueOf(role),
+                userId == null ? null : userId.longValue(),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant()
+        );
     }
 
-    private Key getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 }
@@ -0,0 +1,28 @@
+package com.example.room_booking.config;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+import java.util.Objects;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Tags {@code http.server.requests} with the handler method, so each endpoint gets
+     * its own latency histogram even where two handlers share a URI template.
+     */
+    @Bean
+    public DefaultServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                String handler = Objects.requireNonNullElse(HandlerNames.of(context.getCarrier()), "none");
+                return super.getLowCardinalityKeyValues(context).and("handler", handler);
+            }
+        };
+    }
+}
@@ -45,12 +45,15 @@ public class SecurityConfiguration {
                         ).permitAll()
 
                         // Room endpoints
-                        .requestMatchers(HttpMethod.GET, "/rooms").permitAll()  // Anyone can view books
+                        .requestMatchers(HttpMethod.GET, "/rooms", "/rooms/available", "/rooms/*/quote").permitAll()  // Anyone can view books
+                        .requestMatchers(HttpMethod.GET, "/rooms/*/calendar", "/rooms/occupancy", "/rooms/*/rate-plans").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/rooms/**").hasAuthority("ADMIN")
+                        .requestMatchers(HttpMethod.DELETE, "/rooms/**").hasAuthority("ADMIN")
 
                         // Booking endpoints
+                        .requestMatchers(HttpMethod.GET, "/bookings/*/audit").hasAuthority("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/bookings/**").hasAnyAuthority("USER", "ADMIN")  // Users & admins can view
-                        .requestMatchers(HttpMethod.POST, "/bookings").hasAnyAuthority("ADMIN", "USER")
+                        .requestMatchers(HttpMethod.POST, "/bookings", "/bookings/batch", "/bookings/hold").hasAnyAuthority("ADMIN", "USER")
                         .requestMatchers(HttpMethod.PUT, "/bookings/**").hasAnyAuthority("ADMIN", "USER")  // Users can borrow/return
 
                         // All other requests require authentication
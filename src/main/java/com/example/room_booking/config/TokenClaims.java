@@ -0,0 +1,36 @@
+package com.example.room_booking.config;
+
+import com.example.room_booking.user.Role;
+import com.example.room_booking.user.User;
+
+import java.time.Instant;
+
+/**
+ * Claims of a JWT whose signature has already been verified by {@link JwtService}.
+ */
+public record TokenClaims(
+        String username,
+        Role role,
+        Long userId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    public boolean isExpired() {
+        return expiresAt.isBefore(Instant.now());
+    }
+
+    /**
+     * Builds the principal from the signed role and user id claims alone, or returns
+     * {@code null} for tokens issued without them.
+     */
+    public User toPrincipal() {
+        if (role == null || userId == null) {
+            return null;
+        }
+        return User.builder()
+                .id(userId)
+                .username(username)
+                .role(role)
+                .build();
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.room_booking.controller;
 
+import com.example.room_booking.dto.BatchBookingResponse;
+import com.example.room_booking.dto.BookingAuditResponse;
+import com.example.room_booking.model.BatchBookingRequest;
 import com.example.room_booking.model.BookingRequest;
 import com.example.room_booking.dto.BookingResponse;
 import com.example.room_booking.service.BookingService;
@@ -46,6 +49,31 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getById(id));
     }
 
+    @Operation(
+            description = "Get endpoint for ADMINS only",
+            summary = "Get who created and last modified a booking record",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Booking not found",
+                            responseCode = "404",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    )
+            }
+    )
+    @GetMapping("/{id}/audit")
+    public ResponseEntity<BookingAuditResponse> getBookingAudit(@PathVariable Long id) {
+        return ResponseEntity.ok(bookingService.getAuditById(id));
+    }
+
     @Operation(
             description = "Post endpoint for ADMINS Or USER",
             summary = "Book a room",
@@ -83,6 +111,119 @@ public class BookingController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(
+            description = "Post endpoint for ADMINS Or USER",
+            summary = "Hold a room for booking.hold.ttl, it is cancelled unless confirmed before holdExpiresAt",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "201"
+                    ),
+                    @ApiResponse(
+                            description = "Room not found",
+                            responseCode = "404",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Failed -> wrong argument",
+                            responseCode = "400",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Failed to create booking -> for internal server errors",
+                            responseCode = "500",
+                            content = @Content()
+                    ),
+            }
+    )
+    @PostMapping("/hold")
+    public ResponseEntity<BookingResponse> holdBooking(@Valid @RequestBody BookingRequest bookingRequest) {
+        BookingResponse response = bookingService.hold(bookingRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(
+            description = "Put endpoint for ADMINS or USERS",
+            summary = "Confirm one of your holds",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Hold not found",
+                            responseCode = "404",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Booking already confirmed",
+                            responseCode = "400",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Hold has expired or was cancelled",
+                            responseCode = "409",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Failed to confirm booking -> for internal server errors",
+                            responseCode = "500",
+                            content = @Content()
+                    ),
+            }
+    )
+    @PutMapping("/confirm/{id}")
+    public ResponseEntity<BookingResponse> confirmBooking(@PathVariable Long id) {
+        return ResponseEntity.ok(bookingService.confirm(id));
+    }
+
+    @Operation(
+            description = "Post endpoint for ADMINS Or USER",
+            summary = "Book a group of rooms at once, all-or-nothing (ATOMIC) or best-effort (BEST_EFFORT)",
+            responses = {
+                    @ApiResponse(
+                            description = "Every booking was created",
+                            responseCode = "201"
+                    ),
+                    @ApiResponse(
+                            description = "Some bookings were created, see the per-item results (BEST_EFFORT only)",
+                            responseCode = "207"
+                    ),
+                    @ApiResponse(
+                            description = "No booking was created, see the per-item results",
+                            responseCode = "400"
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Failed to create bookings -> for internal server errors",
+                            responseCode = "500",
+                            content = @Content()
+                    ),
+            }
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> createBookings(@Valid @RequestBody BatchBookingRequest batchRequest) {
+        BatchBookingResponse response = bookingService.createBatch(batchRequest);
+        HttpStatus status = response.isComplete() ? HttpStatus.CREATED
+                : response.booked() == 0 ? HttpStatus.BAD_REQUEST
+                : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @Operation(
             description = "Put endpoint for ADMINS or USERS",
             summary = "Cancel booking",
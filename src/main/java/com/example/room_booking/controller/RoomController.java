@@ -1,7 +1,17 @@
 package com.example.room_booking.controller;
 
+import com.example.room_booking.dto.RoomImportResponse;
+import com.example.room_booking.model.RoomImportFormat;
 import com.example.room_booking.model.RoomRequest;
+import com.example.room_booking.model.RoomSort;
+import com.example.room_booking.dto.OccupancyResponse;
+import com.example.room_booking.dto.RoomCalendarResponse;
 import com.example.room_booking.dto.RoomResponse;
+import com.example.room_booking.pricing.PricingService;
+import com.example.room_booking.pricing.QuoteResponse;
+import com.example.room_booking.pricing.RatePlanRequest;
+import com.example.room_booking.pricing.RatePlanResponse;
+import com.example.room_booking.service.RoomImportService;
 import com.example.room_booking.service.RoomService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,10 +19,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,26 +37,149 @@ import java.util.Optional;
 @Tag(name = "Room")
 public class RoomController {
     private final RoomService roomService;
+    private final PricingService pricingService;
+    private final RoomImportService roomImportService;
 
     @Operation(
             description = "Get endpoint for everyone",
-            summary = "Get all rooms that are available for booking",
+            summary = "Get a page of the rooms that are available for booking",
             responses = {
                     @ApiResponse(
-                            description = "List of All available rooms for booking",
+                            description = "Page of available rooms, pass the last id as afterId to get the next one",
                             responseCode = "200"
                     ),
                     @ApiResponse(
                             description = "Empty list if no room is available",
                             responseCode = "200",
                             content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Failed -> wrong argument",
+                            responseCode = "400",
+                            content = @Content()
                     )
             }
 
     )
     @GetMapping
-    public ResponseEntity<List<RoomResponse>> getAllRooms() {
-        return ResponseEntity.of(Optional.ofNullable(roomService.getAllAvailable()));
+    public ResponseEntity<List<RoomResponse>> getAllRooms(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "ID") RoomSort sort) {
+        return ResponseEntity.of(Optional.ofNullable(roomService.getAllAvailable(sort, afterId, limit)));
+    }
+
+    @Operation(
+            description = "Get endpoint for everyone",
+            summary = "Search rooms that are free for a date range and fit the given number of guests",
+            responses = {
+                    @ApiResponse(
+                            description = "Page of available rooms ordered by id",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Failed -> wrong argument",
+                            responseCode = "400",
+                            content = @Content()
+                    )
+            }
+    )
+    @GetMapping("/available")
+    public ResponseEntity<List<RoomResponse>> searchAvailableRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(defaultValue = "1") int capacity,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(roomService.searchAvailable(checkIn, checkOut, capacity, page, size));
+    }
+
+    @Operation(
+            description = "Get endpoint for everyone",
+            summary = "Get the price of staying in a room from checkIn to checkOut, at its current rates",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Failed -> wrong argument or stay longer than 366 nights",
+                            responseCode = "400",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Room not found",
+                            responseCode = "404",
+                            content = @Content()
+                    )
+            }
+    )
+    @GetMapping("/{id}/quote")
+    public ResponseEntity<QuoteResponse> getQuote(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        return ResponseEntity.ok(pricingService.quote(id, checkIn, checkOut));
+    }
+
+    @Operation(
+            description = "Get endpoint for ADMINS only",
+            summary = "Get the occupied nights of a room from 'from' (inclusive) to 'to' (exclusive)",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Failed -> wrong argument or range longer than 366 nights",
+                            responseCode = "400",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Room not found",
+                            responseCode = "404",
+                            content = @Content()
+                    )
+            }
+    )
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<RoomCalendarResponse> getRoomCalendar(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(roomService.getCalendar(id, from, to));
+    }
+
+    @Operation(
+            description = "Get endpoint for ADMINS only",
+            summary = "Get the hotel-wide occupancy rate from 'from' (inclusive) to 'to' (exclusive), overall and per night",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Failed -> wrong argument or range longer than 366 nights",
+                            responseCode = "400",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    )
+            }
+    )
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyResponse> getOccupancy(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(roomService.getOccupancy(from, to));
     }
 
     @Operation(
@@ -80,4 +218,121 @@ public class RoomController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdRoom);
     }
 
+    @Operation(
+            description = "Post endpoint for ADMINS only",
+            summary = "Import rooms from a text/csv body (roomNumber,capacity,price per line, optional header) " +
+                    "or an application/x-ndjson body (one room object per line)",
+            responses = {
+                    @ApiResponse(
+                            description = "Every room was imported",
+                            responseCode = "201"
+                    ),
+                    @ApiResponse(
+                            description = "Some rooms were imported, see the per-row errors",
+                            responseCode = "207"
+                    ),
+                    @ApiResponse(
+                            description = "No room was imported, see the per-row errors",
+                            responseCode = "400"
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    )
+            }
+    )
+    @PostMapping(value = "/import",
+            consumes = {RoomImportFormat.CSV_MEDIA_TYPE, RoomImportFormat.JSON_LINES_MEDIA_TYPE})
+    public ResponseEntity<RoomImportResponse> importRooms(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                          InputStream body) {
+        RoomImportResponse response = roomImportService.importRooms(body, RoomImportFormat.of(contentType));
+        HttpStatus status = response.isComplete() ? HttpStatus.CREATED
+                : response.imported() == 0 ? HttpStatus.BAD_REQUEST
+                : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @Operation(
+            description = "Get endpoint for ADMINS only",
+            summary = "Get the rate plans of a room in the order they apply, later plans override earlier ones",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "200"
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Room not found",
+                            responseCode = "404",
+                            content = @Content()
+                    )
+            }
+    )
+    @GetMapping("/{id}/rate-plans")
+    public ResponseEntity<List<RatePlanResponse>> getRatePlans(@PathVariable Long id) {
+        return ResponseEntity.ok(pricingService.getPlans(id));
+    }
+
+    @Operation(
+            description = "Post endpoint for ADMINS only",
+            summary = "Price a room's nights from startDate (inclusive) to endDate (exclusive), optionally with a " +
+                    "different price on Friday and Saturday nights",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "201"
+                    ),
+                    @ApiResponse(
+                            description = "Failed -> wrong argument",
+                            responseCode = "400",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Room not found",
+                            responseCode = "404",
+                            content = @Content()
+                    )
+            }
+    )
+    @PostMapping("/{id}/rate-plans")
+    public ResponseEntity<RatePlanResponse> addRatePlan(@PathVariable Long id,
+                                                        @Valid @RequestBody RatePlanRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(pricingService.addPlan(id, request));
+    }
+
+    @Operation(
+            description = "Delete endpoint for ADMINS only",
+            summary = "Remove a rate plan, existing bookings keep their price",
+            responses = {
+                    @ApiResponse(
+                            description = "Success",
+                            responseCode = "204"
+                    ),
+                    @ApiResponse(
+                            description = "Forbidden -> Not authenticated",
+                            responseCode = "403",
+                            content = @Content()
+                    ),
+                    @ApiResponse(
+                            description = "Rate plan not found",
+                            responseCode = "404",
+                            content = @Content()
+                    )
+            }
+    )
+    @DeleteMapping("/{id}/rate-plans/{planId}")
+    public ResponseEntity<Void> deleteRatePlan(@PathVariable Long id, @PathVariable Long planId) {
+        pricingService.deletePlan(id, planId);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,82 @@
+package com.example.room_booking.db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Adds rate plans, nightly prices of a room for a date range that override its base
+ * price, and the total price of a booking. Bookings keep the total they were quoted, so
+ * later plan changes do not reprice them. Existing bookings were priced at the room's flat
+ * rate; their nights are counted here because H2 and PostgreSQL subtract dates differently.
+ */
+public class V2__RatePlans extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 500;
+    private static final List<String> SCHEMA = List.of(
+            "create sequence rate_plan_seq start with 1 increment by 50",
+            """
+                    create table rate_plan (
+                        id bigint not null,
+                        version bigint default 0 not null,
+                        creation_date timestamp(6),
+                        last_modification_date timestamp(6),
+                        creator_id bigint,
+                        last_modifier_id bigint,
+                        room_id bigint not null,
+                        name varchar(60) not null,
+                        start_date date not null,
+                        end_date date not null,
+                        nightly_price numeric(10, 2) not null,
+                        weekend_price numeric(10, 2),
+                        primary key (id),
+                        constraint fk_rate_plan_room foreign key (room_id) references rooms,
+                        constraint fk_rate_plan_creator foreign key (creator_id) references _user,
+                        constraint fk_rate_plan_last_modifier foreign key (last_modifier_id) references _user
+                    )""",
+            "create index idx_rate_plan_room on rate_plan (room_id)",
+            "alter table booking add column total_price numeric(12, 2)",
+            "alter table booking_aud add column total_price numeric(12, 2)");
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : SCHEMA) {
+                statement.execute(sql);
+            }
+            priceExistingBookings(connection);
+            statement.execute("alter table booking alter column total_price set not null");
+        }
+    }
+
+    private static void priceExistingBookings(Connection connection) throws SQLException {
+        String select = "select b.id, b.check_in_date, b.check_out_date, r.price " +
+                "from booking b join rooms r on r.id = b.room_id";
+        try (PreparedStatement query = connection.prepareStatement(select);
+             PreparedStatement update = connection.prepareStatement("update booking set total_price = ? where id = ?");
+             ResultSet rows = query.executeQuery()) {
+            int batched = 0;
+            while (rows.next()) {
+                long nights = ChronoUnit.DAYS.between(rows.getObject(2, LocalDate.class), rows.getObject(3, LocalDate.class));
+                update.setBigDecimal(1, rows.getBigDecimal(4).multiply(BigDecimal.valueOf(nights)));
+                update.setLong(2, rows.getLong(1));
+                update.addBatch();
+                if (++batched % BATCH_SIZE == 0) {
+                    update.executeBatch();
+                }
+            }
+            if (batched % BATCH_SIZE != 0) {
+                update.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.room_booking.db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds the HELD booking status and the hold expiry. V1 declared the status checks inline,
+ * so H2 and PostgreSQL generated different names for them; they are looked up and
+ * replaced by named checks that admit HELD.
+ */
+public class V3__BookingHolds extends BaseJavaMigration {
+    private static final String STATUSES = "('HELD', 'CONFIRMED', 'CANCELLED')";
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("booking", "booking_aud")) {
+                for (String constraint : statusChecks(connection, table)) {
+                    statement.execute("alter table " + table + " drop constraint \"" + constraint + "\"");
+                }
+                statement.execute("alter table " + table + " add constraint ck_" + table + "_status " +
+                        "check (status in " + STATUSES + ")");
+                statement.execute("alter table " + table + " add column hold_expires_at timestamp(6) with time zone");
+            }
+            statement.execute("create index idx_booking_hold_expiry on booking (hold_expires_at)");
+        }
+    }
+
+    private static List<String> statusChecks(Connection connection, String table) throws SQLException {
+        String sql = "select tc.constraint_name from information_schema.table_constraints tc " +
+                "join information_schema.check_constraints cc " +
+                "on cc.constraint_schema = tc.constraint_schema and cc.constraint_name = tc.constraint_name " +
+                "where tc.table_schema = current_schema and tc.table_name = ? " +
+                "and tc.constraint_type = 'CHECK' and cc.check_clause like '%CONFIRMED%'";
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(sql)) {
+            query.setString(1, table);
+            try (ResultSet rows = query.executeQuery()) {
+                while (rows.next()) {
+                    names.add(rows.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+}
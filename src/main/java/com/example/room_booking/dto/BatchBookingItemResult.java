@@ -0,0 +1,17 @@
+package com.example.room_booking.dto;
+
+public record BatchBookingItemResult(
+        int index,
+        Long roomId,
+        boolean booked,
+        BookingResponse booking,
+        String error
+) {
+    public static BatchBookingItemResult booked(int index, Long roomId, BookingResponse booking) {
+        return new BatchBookingItemResult(index, roomId, true, booking, null);
+    }
+
+    public static BatchBookingItemResult rejected(int index, Long roomId, String error) {
+        return new BatchBookingItemResult(index, roomId, false, null, error);
+    }
+}
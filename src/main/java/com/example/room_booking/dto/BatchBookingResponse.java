@@ -0,0 +1,16 @@
+package com.example.room_booking.dto;
+
+import com.example.room_booking.model.BatchMode;
+
+import java.util.List;
+
+public record BatchBookingResponse(
+        BatchMode mode,
+        int requested,
+        int booked,
+        List<BatchBookingItemResult> results
+) {
+    public boolean isComplete() {
+        return booked == requested;
+    }
+}
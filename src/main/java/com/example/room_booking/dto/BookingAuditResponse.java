@@ -0,0 +1,34 @@
+package com.example.room_booking.dto;
+
+import com.example.room_booking.model.Booking;
+import com.example.room_booking.user.User;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record BookingAuditResponse(
+        Long id,
+        Long version,
+        String roomNumber,
+        String createdBy,
+        LocalDateTime creationDate,
+        String lastModifiedBy,
+        LocalDateTime lastModificationDate
+) {
+    public static BookingAuditResponse fromEntity(Booking booking) {
+        return BookingAuditResponse.builder()
+                .id(booking.getId())
+                .version(booking.getVersion())
+                .roomNumber(booking.getRoom().getRoomNumber())
+                .createdBy(usernameOf(booking.getCreator()))
+                .creationDate(booking.getCreationDate())
+                .lastModifiedBy(usernameOf(booking.getLastModifier()))
+                .lastModificationDate(booking.getLastModificationDate())
+                .build();
+    }
+
+    private static String usernameOf(User user) {
+        return user == null ? null : user.getUsername();
+    }
+}
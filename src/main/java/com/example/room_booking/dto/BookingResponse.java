@@ -5,8 +5,8 @@ import com.example.room_booking.model.BookingStatus;
 import lombok.Builder;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 
 @Builder
 public record BookingResponse(
@@ -16,7 +16,8 @@ public record BookingResponse(
         LocalDate checkOutDate,
         BookingStatus status,
         BigDecimal totalPrice,
-        String customerName
+        String customerName,
+        Instant holdExpiresAt
 
 ) {
     public static BookingResponse fromEntity(Booking booking) {
@@ -25,14 +26,10 @@ public record BookingResponse(
                 .roomNumber(booking.getRoom().getRoomNumber())
                 .checkInDate(booking.getCheckInDate())
                 .checkOutDate(booking.getCheckOutDate())
-                .totalPrice(calculateTotalPrice(booking))
+                .totalPrice(booking.getTotalPrice())
                 .status(booking.getStatus())
                 .customerName(booking.getCustomerName())
+                .holdExpiresAt(booking.getHoldExpiresAt())
                 .build();
     }
-
-    private static BigDecimal calculateTotalPrice(Booking booking) {
-        long nights = ChronoUnit.DAYS.between(booking.getCheckInDate(), booking.getCheckOutDate());
-        return booking.getRoom().getPrice().multiply(BigDecimal.valueOf(nights));
-    }
 }
@@ -0,0 +1,10 @@
+package com.example.room_booking.dto;
+
+import java.time.LocalDate;
+
+public record NightOccupancy(
+        LocalDate night,
+        long occupiedRooms,
+        double occupancyRate
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.room_booking.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Hotel-wide occupancy from {@code from} (inclusive) to {@code to} (exclusive): occupied
+ * room-nights over {@code rooms} times the number of nights, overall and per night.
+ */
+@Builder
+public record OccupancyResponse(
+        LocalDate from,
+        LocalDate to,
+        long rooms,
+        long occupiedRoomNights,
+        double occupancyRate,
+        List<NightOccupancy> nights
+) {
+}
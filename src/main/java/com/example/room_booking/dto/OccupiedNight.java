@@ -0,0 +1,9 @@
+package com.example.room_booking.dto;
+
+import java.time.LocalDate;
+
+public record OccupiedNight(
+        LocalDate night,
+        Long bookingId
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.room_booking.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Occupied nights of one room from {@code from} (inclusive) to {@code to} (exclusive).
+ */
+@Builder
+public record RoomCalendarResponse(
+        Long roomId,
+        String roomNumber,
+        LocalDate from,
+        LocalDate to,
+        int nights,
+        int occupiedNights,
+        double occupancyRate,
+        List<OccupiedNight> occupied
+) {
+}
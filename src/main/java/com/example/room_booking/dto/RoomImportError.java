@@ -0,0 +1,8 @@
+package com.example.room_booking.dto;
+
+public record RoomImportError(
+        long line,
+        String roomNumber,
+        String error
+) {
+}
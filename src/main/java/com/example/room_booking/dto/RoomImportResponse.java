@@ -0,0 +1,18 @@
+package com.example.room_booking.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a room import. {@code errors} lists the first rejected rows, up to
+ * {@code room.import.max-errors}; {@code rejected} counts all of them.
+ */
+public record RoomImportResponse(
+        int rows,
+        int imported,
+        int rejected,
+        List<RoomImportError> errors
+) {
+    public boolean isComplete() {
+        return imported == rows;
+    }
+}
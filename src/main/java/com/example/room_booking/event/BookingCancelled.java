@@ -0,0 +1,33 @@
+package com.example.room_booking.event;
+
+import com.example.room_booking.model.Booking;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+public record BookingCancelled(
+        Long bookingId,
+        String customerName,
+        Long roomId,
+        String roomNumber,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        BigDecimal pricePerNight,
+        BigDecimal totalPrice,
+        Instant occurredAt
+) implements BookingEvent {
+    public static BookingCancelled of(Booking booking) {
+        return new BookingCancelled(
+                booking.getId(),
+                booking.getCustomerName(),
+                booking.getRoom().getId(),
+                booking.getRoom().getRoomNumber(),
+                booking.getCheckInDate(),
+                booking.getCheckOutDate(),
+                booking.getRoom().getPrice(),
+                booking.getTotalPrice(),
+                Instant.now()
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.room_booking.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Change of a booking, published by {@code BookingService} inside the booking transaction.
+ * Listeners that talk to the outside world should only react once it has committed.
+ */
+public sealed interface BookingEvent permits BookingCreated, BookingCancelled {
+    Long bookingId();
+
+    String customerName();
+
+    Long roomId();
+
+    String roomNumber();
+
+    LocalDate checkInDate();
+
+    LocalDate checkOutDate();
+
+    /**
+     * The room's base price. Rate plans may have priced the stay differently, see
+     * {@link #totalPrice()}.
+     */
+    BigDecimal pricePerNight();
+
+    BigDecimal totalPrice();
+
+    Instant occurredAt();
+}
@@ -0,0 +1,24 @@
+package com.example.room_booking.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class BatchBookingRequest {
+    // Items are validated one by one by the service so that a bad item is reported
+    // in its result instead of rejecting the whole batch.
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 500, message = "A batch can hold at most 500 bookings")
+    private List<BookingRequest> bookings;
+
+    private BatchMode mode;
+
+    public BatchMode getMode() {
+        return mode == null ? BatchMode.ATOMIC : mode;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.room_booking.model;
+
+public enum BatchMode {
+    /** Book every item or none of them. */
+    ATOMIC,
+    /** Book the items that pass and report the ones that do not. */
+    BEST_EFFORT
+}
@@ -4,10 +4,23 @@ import com.example.room_booking.baseEntity.BaseEntity;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.envers.Audited;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@Audited
+@Table(indexes = {
+        // conflict checks: equality on the room, then check_out_date > :checkIn skips the
+        // room's past stays; check_in_date and status make the index covering
+        @Index(name = "idx_booking_room_stay", columnList = "room_id, check_out_date, check_in_date, status"),
+        // availability index warm-up: active stays that end after today
+        @Index(name = "idx_booking_check_out", columnList = "check_out_date, status"),
+        // hold expiry: only outstanding holds have an expiry, so the sweep scans just those
+        @Index(name = "idx_booking_hold_expiry", columnList = "hold_expires_at")
+})
 @EqualsAndHashCode(callSuper = true)
 @Data
 @NoArgsConstructor
@@ -25,8 +38,17 @@ public class Booking extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 
-    @ManyToOne
+    // priced when booked, later rate changes do not apply to the booking
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal totalPrice;
+
+    // set while the booking is HELD, cleared once it is confirmed, cancelled or expired
+    private Instant holdExpiresAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
     @JsonManagedReference
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Room room;
 }
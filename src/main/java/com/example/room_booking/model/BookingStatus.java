@@ -1,6 +1,8 @@
 package com.example.room_booking.model;
 
 public enum BookingStatus {
+    // reserves its nights until holdExpiresAt, then is confirmed or cancelled
+    HELD,
     CONFIRMED,
     CANCELLED,
 }
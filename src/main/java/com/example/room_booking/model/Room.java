@@ -4,12 +4,15 @@ import com.example.room_booking.baseEntity.BaseEntity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.envers.Audited;
+import org.hibernate.envers.NotAudited;
 //import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
+@Audited
 @Table(name = "rooms",
         uniqueConstraints = {
                 @UniqueConstraint(name = "uk_rooms_number", columnNames = "room_number")
@@ -37,6 +40,8 @@ public class Room extends BaseEntity {
     private Boolean isAvailable;
 
     @OneToMany(mappedBy = "room")
+    @NotAudited
     @JsonBackReference
+    @ToString.Exclude
     private List<Booking> bookings;
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.room_booking.model;
+
+import org.springframework.http.MediaType;
+
+public enum RoomImportFormat {
+    /** {@code roomNumber,capacity,price} per line, with an optional header line. */
+    CSV,
+    /** One {@code {"roomNumber": ..., "capacity": ..., "price": ...}} object per line. */
+    JSON_LINES;
+
+    public static final String CSV_MEDIA_TYPE = "text/csv";
+    public static final String JSON_LINES_MEDIA_TYPE = "application/x-ndjson";
+
+    public static RoomImportFormat of(MediaType contentType) {
+        return contentType.isCompatibleWith(MediaType.parseMediaType(CSV_MEDIA_TYPE)) ? CSV : JSON_LINES;
+    }
+}
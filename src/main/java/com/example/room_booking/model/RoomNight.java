@@ -0,0 +1,77 @@
+package com.example.room_booking.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Claim of one night of one room by an active booking. The primary key makes the
+ * database reject a second claim of the same night, which is what prevents two
+ * concurrent transactions from double booking a room, without locking the room row.
+ * Claims are removed when their booking is cancelled, so the table is also the occupancy
+ * calendar of every room: the key leads with {@code room_id}, so one room's calendar is a
+ * single range of it, and {@code idx_room_night_night} serves counts across all rooms.
+ */
+@Entity
+@Table(name = "room_night",
+        indexes = {
+                @Index(name = "idx_room_night_booking", columnList = "booking_id"),
+                @Index(name = "idx_room_night_night", columnList = "night")
+        })
+@IdClass(RoomNightId.class)
+@Getter
+@NoArgsConstructor
+public class RoomNight implements Persistable<RoomNightId> {
+
+    @Id
+    @Column(name = "room_id")
+    private Long roomId;
+
+    @Id
+    @Column(name = "night")
+    private LocalDate night;
+
+    @Column(name = "booking_id", nullable = false)
+    private Long bookingId;
+
+    // Claims are only ever inserted, so save() must persist them instead of merging,
+    // which would first select the row and turn a duplicate claim into an update.
+    @Transient
+    private boolean persisted;
+
+    private RoomNight(Long roomId, LocalDate night, Long bookingId) {
+        this.roomId = roomId;
+        this.night = night;
+        this.bookingId = bookingId;
+    }
+
+    /** One claim per night of the booking's stay, in night order. */
+    public static List<RoomNight> claimsOf(Booking booking) {
+        List<RoomNight> claims = new ArrayList<>();
+        for (LocalDate night = booking.getCheckInDate(); night.isBefore(booking.getCheckOutDate()); night = night.plusDays(1)) {
+            claims.add(new RoomNight(booking.getRoom().getId(), night, booking.getId()));
+        }
+        return claims;
+    }
+
+    @Override
+    public RoomNightId getId() {
+        return new RoomNightId(roomId, night);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.room_booking.model;
+
+public enum RoomSort {
+    ID,
+    PRICE,
+    CAPACITY,
+}
@@ -0,0 +1,23 @@
+package com.example.room_booking.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Stand-in for a real email or webhook sink: writes every notification to the log as a
+ * {@code [NOTIFY]} line.
+ */
+@Component
+public class LoggingNotificationSink implements NotificationSink {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationSink.class);
+
+    @Override
+    public void send(List<Notification> batch) {
+        for (Notification notification : batch) {
+            logger.info("[NOTIFY] {}", notification.message());
+        }
+    }
+}
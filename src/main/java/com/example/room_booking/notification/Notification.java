@@ -0,0 +1,33 @@
+package com.example.room_booking.notification;
+
+import com.example.room_booking.event.BookingCancelled;
+import com.example.room_booking.event.BookingCreated;
+import com.example.room_booking.event.BookingEvent;
+
+import java.time.Instant;
+
+/**
+ * Message to a customer about one of their bookings, rendered from a {@link BookingEvent}.
+ */
+public record Notification(
+        String type,
+        Long bookingId,
+        String recipient,
+        String message,
+        Instant occurredAt
+) {
+    public static Notification from(BookingEvent event) {
+        return switch (event) {
+            case BookingCreated created -> new Notification("BOOKING_CREATED", created.bookingId(), created.customerName(),
+                    String.format("Booking created - ID: %d, Name: %s, Room: %s, Dates: %s to %s, Total: $%s, Status: CONFIRMED",
+                            created.bookingId(), created.customerName(), created.roomNumber(),
+                            created.checkInDate(), created.checkOutDate(), created.totalPrice()),
+                    created.occurredAt());
+            case BookingCancelled cancelled -> new Notification("BOOKING_CANCELLED", cancelled.bookingId(), cancelled.customerName(),
+                    String.format("Booking cancelled - ID: %d, Name: %s, Room: %s, Dates: %s to %s, Status: CANCELLED",
+                            cancelled.bookingId(), cancelled.customerName(), cancelled.roomNumber(),
+                            cancelled.checkInDate(), cancelled.checkOutDate()),
+                    cancelled.occurredAt());
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.room_booking.notification;
+
+import com.example.room_booking.event.BookingEvent;
+import com.example.room_booking.worker.BatchWorker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Turns committed booking events into notifications and delivers them to the
+ * {@link NotificationSink} off the request thread, in batches, through a
+ * {@link BatchWorker}. Notifications that cannot be queued or delivered go to the
+ * {@link NotificationSpool}, which is replayed every {@code spool-replay-interval-ms} and
+ * on startup.
+ */
+@Component
+public class NotificationDispatcher extends BatchWorker<Notification> {
+    private final NotificationSink sink;
+
+    public NotificationDispatcher(NotificationSink sink,
+                                  NotificationSpool spool,
+                                  @Value("${notification.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${notification.batch-size:100}") int batchSize,
+                                  @Value("${notification.linger-ms:200}") long lingerMillis,
+                                  @Value("${notification.max-attempts:5}") int maxAttempts,
+                                  @Value("${notification.retry-backoff-ms:500}") long retryBackoffMillis,
+                                  @Value("${notification.enqueue-timeout-ms:50}") long enqueueTimeoutMillis,
+                                  @Value("${notification.spool-replay-chunk:1000}") int replayChunk) {
+        super("notification-dispatcher", "notifications", spool, new Settings(queueCapacity, batchSize,
+                lingerMillis, maxAttempts, retryBackoffMillis, enqueueTimeoutMillis, replayChunk));
+        this.sink = sink;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingEvent(BookingEvent event) {
+        enqueue(Notification.from(event));
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${notification.spool-replay-interval-ms:60000}",
+            fixedDelayString = "${notification.spool-replay-interval-ms:60000}")
+    public void replaySpool() {
+        super.replaySpool();
+    }
+
+    @Override
+    protected void send(List<Notification> batch) throws Exception {
+        sink.send(batch);
+    }
+}
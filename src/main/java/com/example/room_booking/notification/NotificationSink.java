@@ -0,0 +1,11 @@
+package com.example.room_booking.notification;
+
+import java.util.List;
+
+/**
+ * Delivers notifications to customers (email, webhook, ...). A batch either succeeds as a
+ * whole or throws, in which case the dispatcher retries all of it.
+ */
+public interface NotificationSink {
+    void send(List<Notification> batch) throws Exception;
+}
@@ -0,0 +1,23 @@
+package com.example.room_booking.notification;
+
+import com.example.room_booking.worker.FileSpool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Notifications that could not be queued or delivered, replayed by the
+ * {@link NotificationDispatcher}.
+ */
+@Component
+public class NotificationSpool extends FileSpool<Notification> {
+
+    public NotificationSpool(ObjectMapper objectMapper,
+                             @Value("${notification.spool-file:data/notification-spool.ndjson}") Path file,
+                             @Value("${notification.dead-letter-file:data/notification-dead-letter.ndjson}") Path deadLetterFile,
+                             @Value("${notification.spool-max-attempts:10}") int maxAttempts) {
+        super(objectMapper, Notification.class, file, deadLetterFile, maxAttempts);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.room_booking.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Default sink for local runs: logs one line per event.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingOutboxSink implements OutboxSink {
+    private static final Logger logger = LoggerFactory.getLogger(LoggingOutboxSink.class);
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            logger.debug("[OUTBOX] {} {} #{}: {}", message.eventType(), message.aggregateType(),
+                    message.aggregateId(), message.payload());
+        }
+    }
+}
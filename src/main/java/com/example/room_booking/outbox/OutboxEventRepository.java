@@ -0,0 +1,26 @@
+package com.example.room_booking.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Locks the oldest unpublished events. A lock timeout of -2 is Hibernate's SKIP LOCKED,
+     * so concurrent relays claim disjoint batches on databases that support it (PostgreSQL,
+     * MySQL 8, Oracle); elsewhere it is a plain FOR UPDATE and relays take turns.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e ORDER BY e.id")
+    List<OutboxEvent> claimOldest(Limit limit);
+
+    Optional<OutboxEvent> findFirstByOrderByIdAsc();
+}
@@ -0,0 +1,19 @@
+package com.example.room_booking.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+public record OutboxMessage(
+        Long id,
+        String aggregateType,
+        Long aggregateId,
+        String eventType,
+        Instant createdAt,
+        @JsonRawValue String payload
+) {
+    public static OutboxMessage from(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getCreatedAt(), event.getPayload());
+    }
+}
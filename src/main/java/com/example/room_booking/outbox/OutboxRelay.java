@@ -0,0 +1,108 @@
+package com.example.room_booking.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes outbox events to the {@link OutboxSink}. Each batch is claimed, published and
+ * deleted in one transaction, so a failure anywhere leaves the batch in place to be
+ * published again on the next poll. A poll keeps draining full batches, up to
+ * {@code max-batches-per-poll}, so a backlog is cleared at full speed.
+ * <p>
+ * Exposes {@code outbox.relay.published} (events), {@code outbox.relay.batch} (time per
+ * batch) and {@code outbox.relay.lag} (age of the oldest unpublished event).
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Counter published;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.enabled:true}") boolean enabled,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-poll:100}") int maxBatchesPerPoll) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.published = Counter.builder("outbox.relay.published")
+                .description("Outbox events published")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Time to claim, publish and delete one batch of outbox events")
+                .register(meterRegistry);
+        Gauge.builder("outbox.relay.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:100}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            for (int i = 0; i < maxBatchesPerPoll; i++) {
+                if (relayBatch() < batchSize) {
+                    break;
+                }
+            }
+            lagMillis.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                    .map(oldest -> Duration.between(oldest.getCreatedAt(), Instant.now()).toMillis())
+                    .orElse(0L));
+        } catch (RuntimeException e) {
+            logger.warn("Failed to relay outbox events, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes the oldest batch of events and returns how many there were.
+     */
+    public int relayBatch() {
+        Integer count = batchTimer.record(() -> transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.claimOldest(Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.publish(events.stream().map(OutboxMessage::from).toList());
+            } catch (Exception e) {
+                throw new IllegalStateException("Outbox sink rejected " + events.size() + " events", e);
+            }
+            outboxEventRepository.deleteAllInBatch(events);
+            return events.size();
+        }));
+        int relayed = count == null ? 0 : count;
+        published.increment(relayed);
+        return relayed;
+    }
+}
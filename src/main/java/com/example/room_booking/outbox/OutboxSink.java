@@ -0,0 +1,11 @@
+package com.example.room_booking.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of published outbox events, e.g. a message broker. Delivery is at least
+ * once: a batch that throws, or whose transaction fails afterwards, is published again.
+ */
+public interface OutboxSink {
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
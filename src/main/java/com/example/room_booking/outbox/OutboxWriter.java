@@ -0,0 +1,33 @@
+package com.example.room_booking.outbox;
+
+import com.example.room_booking.event.BookingEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+/**
+ * Records every booking event in the outbox inside the transaction that caused it, so an
+ * event is stored if and only if the booking change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onBookingEvent(BookingEvent event) throws JsonProcessingException {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType("Booking")
+                .aggregateId(event.bookingId())
+                .eventType(event.getClass().getSimpleName())
+                .payload(objectMapper.writeValueAsString(event))
+                .createdAt(Instant.now())
+                .build());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.room_booking.pricing;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One room's price per night in cents, precomputed for {@code days} nights from
+ * {@code firstDay} (an epoch day), so that quoting a stay sums a slice of an array.
+ * Nights outside the table are priced from the plans directly, with the same result.
+ */
+final class NightlyRates {
+    private final long baseCents;
+    private final List<Rate> rates;
+    private final long firstDay;
+    private final long[] cents;
+    private final long builtAt;
+
+    private NightlyRates(long baseCents, List<Rate> rates, long firstDay, long[] cents, long builtAt) {
+        this.baseCents = baseCents;
+        this.rates = rates;
+        this.firstDay = firstDay;
+        this.cents = cents;
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * @param plans the room's plans in creation order; later plans override earlier ones
+     */
+    static NightlyRates build(BigDecimal basePrice, List<RatePlan> plans, long firstDay, int days, long builtAt) {
+        long baseCents = cents(basePrice);
+        List<Rate> rates = plans.stream().map(Rate::of).toList();
+        long[] cents = new long[days];
+        Arrays.fill(cents, baseCents);
+        for (Rate rate : rates) {
+            long from = Math.max(rate.firstDay(), firstDay);
+            long to = Math.min(rate.endDay(), firstDay + days);
+            for (long day = from; day < to; day++) {
+                cents[(int) (day - firstDay)] = rate.centsOn(day);
+            }
+        }
+        return new NightlyRates(baseCents, rates, firstDay, cents, builtAt);
+    }
+
+    /**
+     * Total in cents of the nights from {@code from} (inclusive) to {@code to}
+     * (exclusive), both epoch days.
+     */
+    long total(long from, long to) {
+        long tableEnd = firstDay + cents.length;
+        long start = Math.min(Math.max(from, firstDay), to);
+        long end = Math.max(Math.min(to, tableEnd), start);
+        long total = 0;
+        for (long day = from; day < start; day++) {
+            total += centsOn(day);
+        }
+        for (int i = (int) (start - firstDay), last = (int) (end - firstDay); i < last; i++) {
+            total += cents[i];
+        }
+        for (long day = end; day < to; day++) {
+            total += centsOn(day);
+        }
+        return total;
+    }
+
+    /**
+     * Whether the table still starts today and was built for the room's current base price
+     * no earlier than {@code notBefore}.
+     */
+    boolean isCurrent(BigDecimal basePrice, long today, long notBefore) {
+        return firstDay == today && builtAt >= notBefore && baseCents == cents(basePrice);
+    }
+
+    private long centsOn(long day) {
+        for (int i = rates.size() - 1; i >= 0; i--) {
+            Rate rate = rates.get(i);
+            if (day >= rate.firstDay() && day < rate.endDay()) {
+                return rate.centsOn(day);
+            }
+        }
+        return baseCents;
+    }
+
+    static long cents(BigDecimal price) {
+        return price.movePointRight(2).longValueExact();
+    }
+
+    private record Rate(long firstDay, long endDay, long nightlyCents, long weekendCents) {
+        static Rate of(RatePlan plan) {
+            long nightly = cents(plan.getNightlyPrice());
+            long weekend = plan.getWeekendPrice() == null ? nightly : cents(plan.getWeekendPrice());
+            return new Rate(plan.getStartDate().toEpochDay(), plan.getEndDate().toEpochDay(), nightly, weekend);
+        }
+
+        long centsOn(long day) {
+            DayOfWeek night = LocalDate.ofEpochDay(day).getDayOfWeek();
+            return night == DayOfWeek.FRIDAY || night == DayOfWeek.SATURDAY ? weekendCents : nightlyCents;
+        }
+    }
+}
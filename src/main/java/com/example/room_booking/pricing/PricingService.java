@@ -0,0 +1,105 @@
+package com.example.room_booking.pricing;
+
+import com.example.room_booking.model.Room;
+import com.example.room_booking.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class PricingService {
+    private static final Logger logger = LoggerFactory.getLogger(PricingService.class);
+    private static final int MAX_QUOTE_NIGHTS = 366;
+    private final RoomRepository roomRepository;
+    private final RatePlanRepository ratePlanRepository;
+    private final RateTable rateTable;
+
+    /**
+     * Total price of a stay at the room's rates, as charged to a booking made now.
+     */
+    public BigDecimal totalPrice(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return rateTable.totalPrice(room, checkIn, checkOut);
+    }
+
+    @Transactional(readOnly = true)
+    public QuoteResponse quote(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        try {
+            if (!checkOut.isAfter(checkIn)) {
+                throw new IllegalArgumentException("Check-out date must be after check-in date");
+            }
+            long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
+            if (nights > MAX_QUOTE_NIGHTS) {
+                throw new IllegalArgumentException("Maximum stay is " + MAX_QUOTE_NIGHTS + " nights");
+            }
+            Room room = findRoom(roomId);
+            return QuoteResponse.builder()
+                    .roomId(room.getId())
+                    .roomNumber(room.getRoomNumber())
+                    .checkInDate(checkIn)
+                    .checkOutDate(checkOut)
+                    .nights((int) nights)
+                    .totalPrice(rateTable.totalPrice(room, checkIn, checkOut))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid quote request: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<RatePlanResponse> getPlans(Long roomId) {
+        findRoom(roomId);
+        return ratePlanRepository.findByRoomId(roomId).stream()
+                .map(RatePlanResponse::fromEntity)
+                .toList();
+    }
+
+    @Transactional
+    public RatePlanResponse addPlan(Long roomId, RatePlanRequest request) {
+        try {
+            if (!request.getEndDate().isAfter(request.getStartDate())) {
+                throw new IllegalArgumentException("End date must be after start date");
+            }
+            RatePlan plan = ratePlanRepository.save(RatePlan.builder()
+                    .room(findRoom(roomId))
+                    .name(request.getName())
+                    .startDate(request.getStartDate())
+                    .endDate(request.getEndDate())
+                    .nightlyPrice(request.getNightlyPrice())
+                    .weekendPrice(request.getWeekendPrice())
+                    .build());
+            rateTable.onPlansChanged(roomId);
+            logger.info("Rate plan {} '{}' added to room {}: {} from {} to {}",
+                    plan.getId(), plan.getName(), roomId, plan.getNightlyPrice(), plan.getStartDate(), plan.getEndDate());
+            return RatePlanResponse.fromEntity(plan);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid rate plan: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @Transactional
+    public void deletePlan(Long roomId, Long planId) {
+        RatePlan plan = ratePlanRepository.findById(planId)
+                .filter(found -> found.getRoom().getId().equals(roomId))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Rate plan not found"));
+        ratePlanRepository.delete(plan);
+        rateTable.onPlansChanged(roomId);
+        logger.info("Rate plan {} removed from room {}", planId, roomId);
+    }
+
+    private Room findRoom(Long roomId) {
+        return roomRepository.findById(roomId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room not found"));
+    }
+}
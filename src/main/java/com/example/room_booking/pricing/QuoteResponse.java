@@ -0,0 +1,21 @@
+package com.example.room_booking.pricing;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Price of staying in a room from {@code checkInDate} to {@code checkOutDate}, at the
+ * rates a booking made now would be charged.
+ */
+@Builder
+public record QuoteResponse(
+        Long roomId,
+        String roomNumber,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        int nights,
+        BigDecimal totalPrice
+) {
+}
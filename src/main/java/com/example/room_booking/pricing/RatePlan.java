@@ -0,0 +1,49 @@
+package com.example.room_booking.pricing;
+
+import com.example.room_booking.baseEntity.BaseEntity;
+import com.example.room_booking.model.Room;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Nightly price of a room from {@code startDate} (inclusive) to {@code endDate}
+ * (exclusive), with an optional price for Friday and Saturday nights. Where plans
+ * overlap, the one created last applies.
+ */
+@Entity
+@Table(name = "rate_plan", indexes = {
+        @Index(name = "idx_rate_plan_room", columnList = "room_id")
+})
+@EqualsAndHashCode(callSuper = true)
+@Getter
+@Setter
+@ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatePlan extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Room room;
+
+    @Column(nullable = false, length = 60)
+    private String name;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal nightlyPrice;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal weekendPrice;
+}
@@ -0,0 +1,15 @@
+package com.example.room_booking.pricing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface RatePlanRepository extends JpaRepository<RatePlan, Long> {
+    /**
+     * The room's plans in creation order, which is the order they are layered in.
+     */
+    @Query("SELECT p FROM RatePlan p WHERE p.room.id = :roomId ORDER BY p.id")
+    List<RatePlan> findByRoomId(@Param("roomId") Long roomId);
+}
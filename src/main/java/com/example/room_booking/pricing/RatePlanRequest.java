@@ -0,0 +1,35 @@
+package com.example.room_booking.pricing;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class RatePlanRequest {
+    @NotBlank(message = "Name is required")
+    @Size(max = 60, message = "Name cannot exceed 60 characters")
+    private String name;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Nightly price is required")
+    @DecimalMin(value = "0.01", message = "Nightly price must be at least 0.01")
+    @Digits(integer = 6, fraction = 2, message = "Nightly price must have up to 6 integer and 2 decimal places")
+    private BigDecimal nightlyPrice;
+
+    @DecimalMin(value = "0.01", message = "Weekend price must be at least 0.01")
+    @Digits(integer = 6, fraction = 2, message = "Weekend price must have up to 6 integer and 2 decimal places")
+    private BigDecimal weekendPrice;
+}
@@ -0,0 +1,27 @@
+package com.example.room_booking.pricing;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record RatePlanResponse(
+        Long id,
+        String name,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal nightlyPrice,
+        BigDecimal weekendPrice
+) {
+    public static RatePlanResponse fromEntity(RatePlan plan) {
+        return RatePlanResponse.builder()
+                .id(plan.getId())
+                .name(plan.getName())
+                .startDate(plan.getStartDate())
+                .endDate(plan.getEndDate())
+                .nightlyPrice(plan.getNightlyPrice())
+                .weekendPrice(plan.getWeekendPrice())
+                .build();
+    }
+}
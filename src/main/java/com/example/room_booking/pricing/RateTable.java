@@ -0,0 +1,60 @@
+package com.example.room_booking.pricing;
+
+import com.example.room_booking.cache.InvalidationGuard;
+import com.example.room_booking.model.Room;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-room {@link NightlyRates}, built on the first quote for a room and rebuilt when its
+ * plans change, its base price changes, the day rolls over or the table is older than
+ * {@code pricing.table.max-age}. The age bound is what brings plan changes made through
+ * another instance into this one.
+ */
+@Component
+public class RateTable {
+    private final RatePlanRepository ratePlanRepository;
+    private final Map<Long, NightlyRates> tables = new ConcurrentHashMap<>();
+    private final InvalidationGuard guard = new InvalidationGuard();
+    private final int horizonDays;
+    private final Duration maxAge;
+
+    public RateTable(RatePlanRepository ratePlanRepository,
+                     @Value("${pricing.table.horizon-days:366}") int horizonDays,
+                     @Value("${pricing.table.max-age:5m}") Duration maxAge) {
+        this.ratePlanRepository = ratePlanRepository;
+        this.horizonDays = horizonDays;
+        this.maxAge = maxAge;
+    }
+
+    public BigDecimal totalPrice(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return BigDecimal.valueOf(totalCents(room, checkIn, checkOut), 2);
+    }
+
+    public long totalCents(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return rates(room).total(checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    public void onPlansChanged(Long roomId) {
+        guard.invalidateAfterCommit(() -> tables.remove(roomId));
+    }
+
+    private NightlyRates rates(Room room) {
+        long today = LocalDate.now().toEpochDay();
+        long now = System.currentTimeMillis();
+        NightlyRates rates = tables.get(room.getId());
+        if (rates != null && rates.isCurrent(room.getPrice(), today, now - maxAge.toMillis())) {
+            return rates;
+        }
+        return guard.load(
+                () -> NightlyRates.build(room.getPrice(), ratePlanRepository.findByRoomId(room.getId()), today, horizonDays, now),
+                built -> tables.put(room.getId(), built),
+                built -> tables.remove(room.getId(), built));
+    }
+}
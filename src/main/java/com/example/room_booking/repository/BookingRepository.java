@@ -1,13 +1,31 @@
 package com.example.room_booking.repository;
 
+import com.example.room_booking.availability.Stay;
 import com.example.room_booking.model.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    @EntityGraph(attributePaths = "room")
+    Optional<Booking> findWithRoomById(Long id);
+
+    @EntityGraph(attributePaths = {"room", "creator", "lastModifier"})
+    Optional<Booking> findWithAuditById(Long id);
+
     @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE " +
             "b.room.id = :roomId AND " +
             "b.status <> com.example.room_booking.model.BookingStatus.CANCELLED AND " +
@@ -15,4 +33,44 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     boolean existsConflictingBooking(@Param("roomId") Long roomId,
                                      @Param("checkIn") LocalDate checkIn,
                                      @Param("checkOut") LocalDate checkOut);
+
+    @Query("SELECT new com.example.room_booking.availability.Stay(b.room.id, b.checkInDate, b.checkOutDate) " +
+            "FROM Booking b WHERE " +
+            "b.status <> com.example.room_booking.model.BookingStatus.CANCELLED AND " +
+            "b.checkOutDate > :date")
+    List<Stay> findActiveStaysEndingAfter(@Param("date") LocalDate date);
+
+    @Query("SELECT new com.example.room_booking.availability.Stay(b.room.id, b.checkInDate, b.checkOutDate) " +
+            "FROM Booking b WHERE " +
+            "b.room.id IN :roomIds AND " +
+            "b.status <> com.example.room_booking.model.BookingStatus.CANCELLED AND " +
+            "(:checkIn < b.checkOutDate AND :checkOut > b.checkInDate)")
+    List<Stay> findActiveStaysOverlapping(@Param("roomIds") Collection<Long> roomIds,
+                                          @Param("checkIn") LocalDate checkIn,
+                                          @Param("checkOut") LocalDate checkOut);
+
+    /**
+     * Loads the booking and locks its row, so a hold being confirmed waits for a sweep that
+     * has claimed it, and the sweep skips a hold that is being confirmed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findForUpdateById(@Param("id") Long id);
+
+    /**
+     * Locks the holds that expired by {@code now}, skipping those locked by another sweep
+     * or a confirmation (SKIP LOCKED, see {@code OutboxEventRepository#claimOldest}).
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b FROM Booking b WHERE " +
+            "b.status = com.example.room_booking.model.BookingStatus.HELD AND b.holdExpiresAt <= :now " +
+            "ORDER BY b.holdExpiresAt")
+    List<Booking> claimExpiredHolds(@Param("now") Instant now, Limit limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = com.example.room_booking.model.BookingStatus.CANCELLED, " +
+            "b.holdExpiresAt = null, b.version = b.version + 1 WHERE " +
+            "b.id IN :ids AND b.status = com.example.room_booking.model.BookingStatus.HELD")
+    int expireHolds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,42 @@
+package com.example.room_booking.repository;
+
+import com.example.room_booking.availability.NightCount;
+import com.example.room_booking.dto.OccupiedNight;
+import com.example.room_booking.model.RoomNight;
+import com.example.room_booking.model.RoomNightId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface RoomNightRepository extends JpaRepository<RoomNight, RoomNightId> {
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.bookingId = :bookingId")
+    int releaseBooking(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.bookingId IN :bookingIds")
+    int releaseBookings(@Param("bookingIds") Collection<Long> bookingIds);
+
+    /**
+     * Range scan of the (room_id, night) primary key, touching only this room's claims.
+     */
+    @Query("SELECT new com.example.room_booking.dto.OccupiedNight(n.night, n.bookingId) FROM RoomNight n " +
+            "WHERE n.roomId = :roomId AND n.night >= :from AND n.night < :to " +
+            "ORDER BY n.night")
+    List<OccupiedNight> findOccupiedNights(@Param("roomId") Long roomId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to);
+
+    /**
+     * Range scan of the night index. Nights without any claim are not returned.
+     */
+    @Query("SELECT new com.example.room_booking.availability.NightCount(n.night, COUNT(n)) FROM RoomNight n " +
+            "WHERE n.night >= :from AND n.night < :to " +
+            "GROUP BY n.night ORDER BY n.night")
+    List<NightCount> countOccupiedRoomsPerNight(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,9 +1,62 @@
 package com.example.room_booking.repository;
 
+import com.example.room_booking.availability.RoomListing;
+import com.example.room_booking.dto.RoomResponse;
 import com.example.room_booking.model.Room;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 public interface RoomRepository extends JpaRepository<Room, Long> {
 
     boolean existsByRoomNumber(String roomNumber);
+
+    @Query("SELECT r.roomNumber FROM Room r WHERE r.roomNumber IN :roomNumbers")
+    Set<String> findExistingRoomNumbers(@Param("roomNumbers") Collection<String> roomNumbers);
+
+    @Query("SELECT new com.example.room_booking.dto.RoomResponse(r.id, r.roomNumber, r.capacity, r.price, r.isAvailable) " +
+            "FROM Room r WHERE " +
+            "r.isAvailable = true AND " +
+            "r.id > :afterId " +
+            "ORDER BY r.id")
+    List<RoomResponse> findAvailableAfterId(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT new com.example.room_booking.dto.RoomResponse(r.id, r.roomNumber, r.capacity, r.price, r.isAvailable) " +
+            "FROM Room r WHERE " +
+            "r.isAvailable = true AND " +
+            "(r.price > COALESCE((SELECT c.price FROM Room c WHERE c.id = :afterId), -1) OR " +
+            "(r.price = (SELECT c.price FROM Room c WHERE c.id = :afterId) AND r.id > :afterId)) " +
+            "ORDER BY r.price, r.id")
+    List<RoomResponse> findAvailableByPriceAfterId(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT new com.example.room_booking.dto.RoomResponse(r.id, r.roomNumber, r.capacity, r.price, r.isAvailable) " +
+            "FROM Room r WHERE " +
+            "r.isAvailable = true AND " +
+            "(r.capacity > COALESCE((SELECT c.capacity FROM Room c WHERE c.id = :afterId), -1) OR " +
+            "(r.capacity = (SELECT c.capacity FROM Room c WHERE c.id = :afterId) AND r.id > :afterId)) " +
+            "ORDER BY r.capacity, r.id")
+    List<RoomResponse> findAvailableByCapacityAfterId(@Param("afterId") long afterId, Limit limit);
+
+    @Query("SELECT new com.example.room_booking.availability.RoomListing(r.id, r.capacity, r.isAvailable) FROM Room r")
+    List<RoomListing> findAllListings();
+
+    @Query("SELECT r.id FROM Room r WHERE " +
+            "r.isAvailable = true AND " +
+            "r.capacity >= :capacity AND " +
+            "NOT EXISTS (SELECT b.id FROM Booking b WHERE " +
+            "b.room = r AND " +
+            "b.status <> com.example.room_booking.model.BookingStatus.CANCELLED AND " +
+            "(:checkIn < b.checkOutDate AND :checkOut > b.checkInDate)) " +
+            "ORDER BY r.id")
+    List<Long> findAvailableRoomIds(@Param("capacity") int capacity,
+                                    @Param("checkIn") LocalDate checkIn,
+                                    @Param("checkOut") LocalDate checkOut,
+                                    Pageable pageable);
 }
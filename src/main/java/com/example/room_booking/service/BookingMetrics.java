@@ -0,0 +1,67 @@
+package com.example.room_booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the booking hot path. All of them are registered up front, so that they are
+ * exported as zero before the first booking instead of appearing later.
+ */
+@Component
+public class BookingMetrics {
+    private final Map<CreatePhase, Timer> phases = new EnumMap<>(CreatePhase.class);
+    private final Map<Conflict, Counter> conflicts = new EnumMap<>(Conflict.class);
+    private final Counter cancellations;
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        for (CreatePhase phase : CreatePhase.values()) {
+            phases.put(phase, Timer.builder("booking.create.phase")
+                    .description("Time spent in each phase of creating a booking")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        for (Conflict conflict : Conflict.values()) {
+            conflicts.put(conflict, Counter.builder("booking.conflicts")
+                    .description("Booking requests rejected because the room was taken")
+                    .tag("cause", conflict.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.cancellations = Counter.builder("booking.cancellations")
+                .description("Bookings cancelled")
+                .register(meterRegistry);
+    }
+
+    public <T> T time(CreatePhase phase, Supplier<T> step) {
+        return phases.get(phase).record(step);
+    }
+
+    public void time(CreatePhase phase, Runnable step) {
+        phases.get(phase).record(step);
+    }
+
+    public void conflict(Conflict conflict) {
+        conflicts.get(conflict).increment();
+    }
+
+    public void cancelled() {
+        cancellations.increment();
+    }
+
+    public enum CreatePhase {
+        VALIDATION, ROOM_FETCH, CONFLICT_CHECK, SAVE, RESPONSE_MAPPING
+    }
+
+    public enum Conflict {
+        /** The stay overlaps a booking found by the availability check. */
+        OVERLAP,
+        /** A concurrent transaction claimed one of the nights first. */
+        CONCURRENT
+    }
+}
@@ -1,31 +1,56 @@
 package com.example.room_booking.service;
 
+import com.example.room_booking.availability.AvailabilityIndex;
+import com.example.room_booking.availability.SearchCache;
+import com.example.room_booking.availability.Stay;
+import com.example.room_booking.dto.BatchBookingItemResult;
+import com.example.room_booking.dto.BatchBookingResponse;
+import com.example.room_booking.dto.BookingAuditResponse;
+import com.example.room_booking.event.BookingCancelled;
+import com.example.room_booking.event.BookingCreated;
+import com.example.room_booking.model.BatchBookingRequest;
+import com.example.room_booking.model.BatchMode;
 import com.example.room_booking.model.BookingRequest;
 import com.example.room_booking.dto.BookingResponse;
 import com.example.room_booking.model.Booking;
 import com.example.room_booking.model.BookingStatus;
 import com.example.room_booking.repository.BookingRepository;
 import com.example.room_booking.model.Room;
+import com.example.room_booking.model.RoomNight;
+import com.example.room_booking.repository.RoomNightRepository;
+import com.example.room_booking.pricing.PricingService;
 import com.example.room_booking.repository.RoomRepository;
-import com.example.room_booking.user.User;
-import com.example.room_booking.user.UserRepository;
+import com.example.room_booking.service.BookingMetrics.Conflict;
+import com.example.room_booking.service.BookingMetrics.CreatePhase;
+import com.example.room_booking.user.CurrentUser;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,12 +58,24 @@ public class BookingService {
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
     private final BookingRepository bookingRepository;
     private final RoomRepository roomRepository;
-    private final UserRepository userRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final CurrentUser currentUser;
+    private final AvailabilityIndex availabilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingMetrics metrics;
+    private final PricingService pricingService;
+    private final SearchCache searchCache;
+
+    @Value("${booking.index.verify:false}")
+    private boolean verifyIndex;
+
+    @Value("${booking.hold.ttl:10m}")
+    private Duration holdTtl;
 
     @Cacheable(value = "bookings", key = "#id")
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public BookingResponse getById(Long id) {
-        return bookingRepository.findById(id)
+        return bookingRepository.findWithRoomById(id)
                 .map(booking -> {
                     if (booking.getRoom() == null) {
                         logger.error("Booking with ID {} has no associated room", id);
@@ -55,27 +92,105 @@ public class BookingService {
                 });
     }
 
-    @CacheEvict(value = "bookings", allEntries = true)
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public BookingAuditResponse getAuditById(Long id) {
+        return bookingRepository.findWithAuditById(id)
+                .map(BookingAuditResponse::fromEntity)
+                .orElseThrow(() -> {
+                    logger.warn("Booking record with id {} not found", id);
+                    return new ResponseStatusException(HttpStatus.NOT_FOUND, "Booking not found");
+                });
+    }
+
+    @CachePut(value = "bookings", key = "#result.id")
     @Transactional
     public BookingResponse create(BookingRequest request) {
+        return book(request, BookingStatus.CONFIRMED);
+    }
+
+    /**
+     * Reserves the stay's nights for {@code booking.hold.ttl} without confirming it. Until
+     * it is confirmed the hold blocks the nights like a booking; {@link HoldExpiryJob}
+     * cancels it once it expires.
+     */
+    @CachePut(value = "bookings", key = "#result.id")
+    @Transactional
+    public BookingResponse hold(BookingRequest request) {
+        return book(request, BookingStatus.HELD);
+    }
+
+    /**
+     * Confirms the current user's hold, provided it has not expired. The hold is locked and
+     * changed through the entity, so the confirmation is versioned and audited.
+     */
+    @CachePut(value = "bookings", key = "#id")
+    @Transactional
+    public BookingResponse confirm(Long id) {
         try {
-            validateBookingRequest(request);
+            Booking booking = bookingRepository.findForUpdateById(id)
+                    .filter(found -> found.getCustomerName().equals(currentUser.getUsername()))
+                    .orElseThrow(() -> {
+                        logger.warn("Hold with id {} not found", id);
+                        return new ResponseStatusException(HttpStatus.NOT_FOUND, "Booking not found");
+                    });
+            if (booking.getStatus() == BookingStatus.CONFIRMED) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Booking already confirmed");
+            }
+            if (booking.getStatus() != BookingStatus.HELD || !booking.getHoldExpiresAt().isAfter(Instant.now())) {
+                logger.warn("Hold {} expired or was cancelled before it was confirmed", id);
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Hold has expired or was cancelled");
+            }
 
-            Room room = roomRepository.findById(request.getRoomId())
+            booking.setStatus(BookingStatus.CONFIRMED);
+            booking.setHoldExpiresAt(null);
+            bookingRepository.save(booking);
+            eventPublisher.publishEvent(BookingCreated.of(booking));
+            logger.info("Confirmed hold {} on room {} from {} to {}",
+                    id, booking.getRoom().getId(), booking.getCheckInDate(), booking.getCheckOutDate());
+            return BookingResponse.fromEntity(booking);
+
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to confirm hold {}", id, e);
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Failed to confirm booking"
+            );
+        }
+    }
+
+    private BookingResponse book(BookingRequest request, BookingStatus status) {
+        try {
+            metrics.time(CreatePhase.VALIDATION, () -> validateBookingRequest(request));
+
+            Room room = metrics.time(CreatePhase.ROOM_FETCH, () -> roomRepository.findById(request.getRoomId())
                     .orElseThrow(() -> {
                         logger.warn("No room with id {} found", request.getRoomId());
                         return new ResponseStatusException(HttpStatus.NOT_FOUND, "Room not found");
-                    });
+                    }));
 
-            checkRoomAvailability(room, request.getCheckInDate(), request.getCheckOutDate());
+            metrics.time(CreatePhase.CONFLICT_CHECK,
+                    () -> checkRoomAvailability(room, request.getCheckInDate(), request.getCheckOutDate()));
 
-            Booking booking = buildBooking(request, room);
-            updateRoomAvailability(room, false);
+            Booking savedBooking = metrics.time(CreatePhase.SAVE, () -> {
+                Booking booking = buildBooking(request, room);
+                if (status == BookingStatus.HELD) {
+                    booking.setStatus(BookingStatus.HELD);
+                    booking.setHoldExpiresAt(Instant.now().plus(holdTtl));
+                }
+                bookingRepository.save(booking);
+                claimNights(List.of(booking));
+                availabilityIndex.onBooked(room.getId(), booking.getCheckInDate(), booking.getCheckOutDate());
+                searchCache.onNightsChanged(booking.getCheckInDate(), booking.getCheckOutDate());
+                // a hold is announced once it is confirmed
+                if (status != BookingStatus.HELD) {
+                    eventPublisher.publishEvent(BookingCreated.of(booking));
+                }
+                return booking;
+            });
 
-            Booking savedBooking = bookingRepository.save(booking);
-            logBookingConfirmation(savedBooking);
-
-            return BookingResponse.fromEntity(savedBooking);
+            return metrics.time(CreatePhase.RESPONSE_MAPPING, () -> BookingResponse.fromEntity(savedBooking));
 
         } catch (ResponseStatusException e) {
             throw e;
@@ -84,7 +199,12 @@ public class BookingService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (DataIntegrityViolationException e) {
             logger.warn("Data integrity violation: {}", e.getMessage());
+            metrics.conflict(Conflict.CONCURRENT);
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Room already booked");
+        } catch (PessimisticLockingFailureException e) {
+            metrics.conflict(Conflict.CONCURRENT);
+            logger.warn("Room {} is being booked concurrently: {}", request.getRoomId(), e.getMessage());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Room is being booked, please retry");
         } catch (Exception e) {
             logger.error("Unexpected error creating booking", e);
             throw new ResponseStatusException(
@@ -94,11 +214,125 @@ public class BookingService {
         }
     }
 
-    @CacheEvict(value = "bookings", allEntries = true)
+    /**
+     * Books a group of stays in one transaction: the rooms are loaded with one query,
+     * every item is conflict-checked against one query over the batch's date envelope
+     * (and against the other items), and the accepted bookings are inserted as a JDBC
+     * batch. In {@link BatchMode#ATOMIC} mode a single rejected item books nothing.
+     * <p>
+     * Items are rejected one by one only for conflicts visible when the batch is checked. A
+     * booking committed by another transaction between that check and the insert of the
+     * room-night claims fails the whole batch, in either mode, with {@code 409}: nothing is
+     * booked, and a retry reports that item as rejected. Search results are invalidated
+     * once for the batch, not per booking.
+     */
+    @Transactional
+    public BatchBookingResponse createBatch(BatchBookingRequest request) {
+        try {
+            List<BookingRequest> items = request.getBookings();
+            String[] errors = new String[items.size()];
+            validateBatchItems(items, errors);
+
+            Set<Long> roomIds = new LinkedHashSet<>();
+            LocalDate from = null;
+            LocalDate to = null;
+            for (int i = 0; i < items.size(); i++) {
+                if (errors[i] == null) {
+                    BookingRequest item = items.get(i);
+                    roomIds.add(item.getRoomId());
+                    from = from == null || item.getCheckInDate().isBefore(from) ? item.getCheckInDate() : from;
+                    to = to == null || item.getCheckOutDate().isAfter(to) ? item.getCheckOutDate() : to;
+                }
+            }
+
+            Map<Long, Room> rooms = new HashMap<>();
+            Map<Long, List<Stay>> stays = new HashMap<>();
+            if (!roomIds.isEmpty()) {
+                rooms = roomRepository.findAllById(roomIds).stream()
+                        .collect(Collectors.toMap(Room::getId, Function.identity()));
+                stays = bookingRepository.findActiveStaysOverlapping(roomIds, from, to).stream()
+                        .collect(Collectors.groupingBy(Stay::roomId, Collectors.toCollection(ArrayList::new)));
+            }
+
+            String customerName = currentUser.getUsername();
+            Booking[] bookings = new Booking[items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                if (errors[i] != null) {
+                    continue;
+                }
+                BookingRequest item = items.get(i);
+                Room room = rooms.get(item.getRoomId());
+                if (room == null) {
+                    errors[i] = "Room not found";
+                } else if (!room.getIsAvailable()) {
+                    errors[i] = "Room is not available";
+                } else {
+                    List<Stay> roomStays = stays.computeIfAbsent(room.getId(), id -> new ArrayList<>());
+                    if (overlapsAny(roomStays, item.getCheckInDate(), item.getCheckOutDate())) {
+                        errors[i] = "Room is already booked for selected dates";
+                        metrics.conflict(Conflict.OVERLAP);
+                    } else {
+                        roomStays.add(new Stay(room.getId(), item.getCheckInDate(), item.getCheckOutDate()));
+                        bookings[i] = buildBooking(item, room, customerName);
+                    }
+                }
+            }
+
+            BatchMode mode = request.getMode();
+            boolean rejected = false;
+            for (String error : errors) {
+                rejected |= error != null;
+            }
+            if (mode == BatchMode.ATOMIC && rejected) {
+                logger.warn("Rejected atomic batch of {} bookings", items.size());
+                return batchResponse(mode, items, errors, new Booking[items.size()]);
+            }
+
+            List<Booking> accepted = new ArrayList<>(items.size());
+            for (Booking booking : bookings) {
+                if (booking != null) {
+                    accepted.add(booking);
+                }
+            }
+            bookingRepository.saveAll(accepted);
+            claimNights(accepted);
+            List<Stay> booked = new ArrayList<>(accepted.size());
+            accepted.forEach(booking -> {
+                availabilityIndex.onBooked(booking.getRoom().getId(), booking.getCheckInDate(), booking.getCheckOutDate());
+                booked.add(new Stay(booking.getRoom().getId(), booking.getCheckInDate(), booking.getCheckOutDate()));
+                eventPublisher.publishEvent(BookingCreated.of(booking));
+            });
+            searchCache.onStaysChanged(booked);
+
+            logger.info("Batch of {} bookings ({}) - booked {}, rejected {}",
+                    items.size(), mode, accepted.size(), items.size() - accepted.size());
+            return batchResponse(mode, items, errors, bookings);
+
+        } catch (ResponseStatusException e) {
+            throw e;
+        } catch (DataIntegrityViolationException e) {
+            // the claims are flushed together, so the transaction cannot tell which item lost
+            metrics.conflict(Conflict.CONCURRENT);
+            logger.warn("Booking batch lost a room night to a concurrent booking: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A room was booked concurrently, please retry");
+        } catch (PessimisticLockingFailureException e) {
+            metrics.conflict(Conflict.CONCURRENT);
+            logger.warn("Booking batch ran into a concurrent booking: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Rooms are being booked, please retry");
+        } catch (Exception e) {
+            logger.error("Unexpected error creating booking batch", e);
+            throw new ResponseStatusException(
+                    HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Failed to create bookings"
+            );
+        }
+    }
+
+    @CacheEvict(value = "bookings", key = "#id")
     @Transactional
     public void cancel(Long id) {
         try {
-            Booking booking = bookingRepository.findById(id)
+            Booking booking = bookingRepository.findWithRoomById(id)
                     .orElseThrow(() -> {
                         logger.warn("Booking with id {} not found", id);
                         return new ResponseStatusException(HttpStatus.NOT_FOUND, "Booking not found");
@@ -118,11 +352,21 @@ public class BookingService {
                 );
             }
 
-            updateRoomAvailability(room, true);
+            BookingStatus previous = booking.getStatus();
             booking.setStatus(BookingStatus.CANCELLED);
+            booking.setHoldExpiresAt(null);
             bookingRepository.save(booking);
+            roomNightRepository.releaseBooking(booking.getId());
+            availabilityIndex.onCancelled(room.getId(), booking.getCheckInDate(), booking.getCheckOutDate());
+            searchCache.onNightsChanged(booking.getCheckInDate(), booking.getCheckOutDate());
+            // the hold was never announced
+            if (previous != BookingStatus.HELD) {
+                eventPublisher.publishEvent(BookingCancelled.of(booking));
+                metrics.cancelled();
+            }
 
-            logger.info("Cancelled booking {}, room {} is now available", id, room.getId());
+            logger.info("Cancelled booking {}, room {} is free again from {} to {}",
+                    id, room.getId(), booking.getCheckInDate(), booking.getCheckOutDate());
 
         } catch (ResponseStatusException e) {
             throw e;
@@ -169,7 +413,8 @@ public class BookingService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Room is not available");
         }
 
-        if (bookingRepository.existsConflictingBooking(room.getId(), checkIn, checkOut)) {
+        if (hasConflictingBooking(room.getId(), checkIn, checkOut)) {
+            metrics.conflict(Conflict.OVERLAP);
             logger.warn("Room {} has booking conflict for dates {} to {}",
                     room.getId(), checkIn, checkOut);
             throw new ResponseStatusException(
@@ -179,55 +424,88 @@ public class BookingService {
         }
     }
 
-    private Booking buildBooking(BookingRequest request, Room room) {
-        return Booking.builder()
-                .customerName(getUserName())
-                .checkInDate(request.getCheckInDate())
-                .checkOutDate(request.getCheckOutDate())
-                .room(room)
-                .status(BookingStatus.CONFIRMED)
-                .build();
+    private void validateBatchItems(List<BookingRequest> items, String[] errors) {
+        for (int i = 0; i < items.size(); i++) {
+            BookingRequest item = items.get(i);
+            try {
+                validateBookingRequest(item);
+                if (item.getRoomId() == null) {
+                    throw new IllegalArgumentException("Room ID is required");
+                }
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        }
     }
 
-    private void updateRoomAvailability(Room room, boolean available) {
-        room.setIsAvailable(available);
-        roomRepository.save(room);
+    private static boolean overlapsAny(List<Stay> stays, LocalDate checkIn, LocalDate checkOut) {
+        for (Stay stay : stays) {
+            if (checkIn.isBefore(stay.checkOutDate()) && checkOut.isAfter(stay.checkInDate())) {
+                return true;
+            }
+        }
+        return false;
     }
 
-    private void logBookingConfirmation(Booking booking) {
-        BigDecimal totalPrice = booking.getRoom().getPrice()
-                .multiply(BigDecimal.valueOf(
-                        ChronoUnit.DAYS.between(
-                                booking.getCheckInDate(),
-                                booking.getCheckOutDate()
-                        )
-                ));
-
-        logger.info("[NOTIFY] Booking created - ID: {}, Name: {}, Room: {}, Dates: {} to {}, Total: ${}, Status: {}",
-                booking.getId(),
-                booking.getCustomerName(),
-                booking.getRoom().getRoomNumber(),
-                booking.getCheckInDate(),
-                booking.getCheckOutDate(),
-                totalPrice,
-                booking.getStatus());
+    private BatchBookingResponse batchResponse(BatchMode mode, List<BookingRequest> items,
+                                               String[] errors, Booking[] bookings) {
+        List<BatchBookingItemResult> results = new ArrayList<>(items.size());
+        int booked = 0;
+        for (int i = 0; i < items.size(); i++) {
+            Long roomId = items.get(i) == null ? null : items.get(i).getRoomId();
+            if (bookings[i] != null) {
+                results.add(BatchBookingItemResult.booked(i, roomId, BookingResponse.fromEntity(bookings[i])));
+                booked++;
+            } else {
+                results.add(BatchBookingItemResult.rejected(i, roomId,
+                        errors[i] != null ? errors[i] : "Not booked, another booking in the batch was rejected"));
+            }
+        }
+        return new BatchBookingResponse(mode, items.size(), booked, results);
     }
 
-    private User getUser() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        Object principal = auth.getPrincipal();
-        if (auth.isAuthenticated() && principal instanceof String) {
-            Optional<User> user = userRepository.findByUsername(principal.toString());
-            return user.orElse(null);
-        } else {
-            return (User) principal;
+    private boolean hasConflictingBooking(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        if (!availabilityIndex.canAnswer(roomId)) {
+            return bookingRepository.existsConflictingBooking(roomId, checkIn, checkOut);
+        }
+
+        boolean conflict = availabilityIndex.hasConflict(roomId, checkIn, checkOut);
+        if (verifyIndex) {
+            boolean persisted = bookingRepository.existsConflictingBooking(roomId, checkIn, checkOut);
+            if (persisted != conflict) {
+                logger.warn("Availability index mismatch for room {} dates {} to {}: index={}, database={}",
+                        roomId, checkIn, checkOut, conflict, persisted);
+                return persisted;
+            }
         }
+        return conflict;
+    }
+
+    private Booking buildBooking(BookingRequest request, Room room) {
+        return buildBooking(request, room, currentUser.getUsername());
+    }
+
+    private Booking buildBooking(BookingRequest request, Room room, String customerName) {
+        return Booking.builder()
+                .customerName(customerName)
+                .checkInDate(request.getCheckInDate())
+                .checkOutDate(request.getCheckOutDate())
+                .room(room)
+                .status(BookingStatus.CONFIRMED)
+                .totalPrice(pricingService.totalPrice(room, request.getCheckInDate(), request.getCheckOutDate()))
+                .build();
     }
 
-    private String getUserName() {
-        String userName = "anonymousUser";
-        User user = getUser();
-        if (user != null) userName = user.getUsername();
-        return userName;
+    /**
+     * Inserts one claim per booked night and flushes, so that a night already claimed by
+     * a concurrent booking fails here with a unique key violation and rolls back the
+     * whole booking. Claims are inserted in (room, night) order so that two transactions
+     * claiming overlapping nights wait on each other instead of deadlocking.
+     */
+    private void claimNights(List<Booking> bookings) {
+        List<RoomNight> claims = new ArrayList<>();
+        bookings.forEach(booking -> claims.addAll(RoomNight.claimsOf(booking)));
+        claims.sort(Comparator.comparing(RoomNight::getRoomId).thenComparing(RoomNight::getNight));
+        roomNightRepository.saveAllAndFlush(claims);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.example.room_booking.service;
+
+import com.example.room_booking.availability.AvailabilityIndex;
+import com.example.room_booking.availability.SearchCache;
+import com.example.room_booking.availability.Stay;
+import com.example.room_booking.cache.InvalidationGuard;
+import com.example.room_booking.config.CacheConfig;
+import com.example.room_booking.model.Booking;
+import com.example.room_booking.repository.BookingRepository;
+import com.example.room_booking.repository.RoomNightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cancels expired holds in batches of {@code batch-size}, one transaction per batch: one
+ * indexed query locks the batch, one update cancels it and one delete releases its nights,
+ * however many holds are outstanding. The bulk statements bypass the entity listeners, so
+ * expiries are not audited. A hold can be confirmed only before it expires, so sweeping
+ * every {@code interval-ms} merely delays when its nights are offered again.
+ */
+@Component
+public class HoldExpiryJob {
+    private static final Logger logger = LoggerFactory.getLogger(HoldExpiryJob.class);
+    private final BookingRepository bookingRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final SearchCache searchCache;
+    private final Cache bookings;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public HoldExpiryJob(BookingRepository bookingRepository,
+                         RoomNightRepository roomNightRepository,
+                         AvailabilityIndex availabilityIndex,
+                         SearchCache searchCache,
+                         CacheManager cacheManager,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${booking.hold.sweep.batch-size:1000}") int batchSize) {
+        this.bookingRepository = bookingRepository;
+        this.roomNightRepository = roomNightRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.searchCache = searchCache;
+        this.bookings = CacheConfig.requireCache(cacheManager, "bookings");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${booking.hold.sweep.interval-ms:1000}",
+            fixedDelayString = "${booking.hold.sweep.interval-ms:1000}")
+    public void scheduledSweep() {
+        try {
+            expire(Instant.now());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to expire holds, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Cancels the holds that expired by {@code now} and returns how many there were.
+     */
+    public int expire(Instant now) {
+        int expired = 0;
+        int claimed;
+        do {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Booking> holds = bookingRepository.claimExpiredHolds(now, Limit.of(batchSize));
+                if (holds.isEmpty()) {
+                    return 0;
+                }
+                List<Long> ids = holds.stream().map(Booking::getId).toList();
+                List<Stay> stays = holds.stream()
+                        .map(hold -> new Stay(hold.getRoom().getId(), hold.getCheckInDate(), hold.getCheckOutDate()))
+                        .toList();
+                bookingRepository.expireHolds(ids);
+                roomNightRepository.releaseBookings(ids);
+                stays.forEach(stay -> availabilityIndex.onCancelled(stay.roomId(), stay.checkInDate(), stay.checkOutDate()));
+                searchCache.onStaysChanged(stays);
+                InvalidationGuard.afterCommit(() -> ids.forEach(bookings::evict));
+                return ids.size();
+            });
+            claimed = count == null ? 0 : count;
+            expired += claimed;
+        } while (claimed == batchSize);
+        if (expired > 0) {
+            logger.info("Expired {} holds", expired);
+        }
+        return expired;
+    }
+}
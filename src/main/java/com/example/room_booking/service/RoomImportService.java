@@ -0,0 +1,296 @@
+package com.example.room_booking.service;
+
+import com.example.room_booking.availability.AvailabilityIndex;
+import com.example.room_booking.availability.SearchCache;
+import com.example.room_booking.config.CacheConfig;
+import com.example.room_booking.dto.RoomImportError;
+import com.example.room_booking.dto.RoomImportResponse;
+import com.example.room_booking.model.Room;
+import com.example.room_booking.model.RoomImportFormat;
+import com.example.room_booking.model.RoomRequest;
+import com.example.room_booking.repository.RoomRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Imports rooms from a CSV or JSON-lines stream, reading it a chunk of
+ * {@code room.import.chunk-size} rows at a time. Each chunk checks its room numbers with
+ * one query and inserts the valid rows as JDBC batches in its own transaction, so a
+ * failing chunk does not undo the ones before it. A chunk that fails to save, e.g. because
+ * a room number was inserted concurrently, is retried a row at a time so that only the
+ * rows that fail are rejected. Caches are evicted once, at the end,
+ * also when the import stops early.
+ * <p>
+ * CSV fields may be quoted to contain commas, with {@code ""} for a quote; quoted fields
+ * cannot span lines.
+ */
+@Service
+public class RoomImportService {
+    private static final Logger logger = LoggerFactory.getLogger(RoomImportService.class);
+    private final RoomRepository roomRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final SearchCache searchCache;
+    private final Cache rooms;
+    private final Validator validator;
+    // prices are read as BigDecimal, not through a double
+    private final ObjectReader jsonReader;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxErrors;
+
+    public RoomImportService(RoomRepository roomRepository,
+                             AvailabilityIndex availabilityIndex,
+                             SearchCache searchCache,
+                             CacheManager cacheManager,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${room.import.chunk-size:500}") int chunkSize,
+                             @Value("${room.import.max-errors:1000}") int maxErrors) {
+        this.roomRepository = roomRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.searchCache = searchCache;
+        this.rooms = CacheConfig.requireCache(cacheManager, "rooms");
+        this.validator = validator;
+        this.jsonReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+    }
+
+    public RoomImportResponse importRooms(InputStream body, RoomImportFormat format) {
+        Report report = new Report();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (lineNumber == 1 && format == RoomImportFormat.CSV && isHeader(line))) {
+                    continue;
+                }
+                report.rows++;
+                Row row = parse(lineNumber, line, format);
+                if (row.error() != null) {
+                    report.reject(row, row.error());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, report);
+        } catch (IOException e) {
+            logger.warn("Room import stopped after {} rows, the body could not be read: {}", report.rows, e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Failed to read the import after " + report.rows + " rows, " + report.imported + " were imported");
+        } finally {
+            if (report.imported > 0) {
+                rooms.clear();
+                searchCache.onRoomsChanged();
+            }
+        }
+
+        logger.info("Imported {} of {} rooms ({}), rejected {}", report.imported, report.rows, format, report.rejected);
+        return new RoomImportResponse(report.rows, report.imported, report.rejected, report.errors);
+    }
+
+    private void importChunk(List<Row> chunk, Report report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // room numbers already stored, plus those accepted earlier in this chunk
+                Set<String> taken = new HashSet<>(roomRepository.findExistingRoomNumbers(
+                        chunk.stream().map(row -> row.request().getRoomNumber()).toList()));
+                for (Row row : chunk) {
+                    if (!taken.add(row.request().getRoomNumber())) {
+                        report.reject(row, "Room number already exists");
+                        continue;
+                    }
+                    accepted.add(row);
+                }
+                insert(accepted);
+            });
+            report.imported += accepted.size();
+        } catch (DataAccessException | TransactionException e) {
+            // most likely a room number inserted concurrently; the chunk was rolled back, so
+            // save its rows one at a time to find the ones that fail
+            logger.warn("Failed to import a chunk of {} rooms, retrying them one by one: {}", accepted.size(), e.getMessage());
+            accepted.forEach(row -> importRow(row, report));
+        }
+    }
+
+    private void importRow(Row row, Report report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+            report.imported++;
+        } catch (DataIntegrityViolationException e) {
+            report.reject(row, "Room number already exists");
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Failed to import room {}: {}", row.request().getRoomNumber(), e.getMessage());
+            report.reject(row, "Failed to save the room, retry the row");
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        List<Room> newRooms = rows.stream()
+                .map(row -> Room.builder()
+                        .roomNumber(row.request().getRoomNumber())
+                        .capacity(row.request().getCapacity())
+                        .price(row.request().getPrice())
+                        .isAvailable(true)
+                        .build())
+                .toList();
+        roomRepository.saveAllAndFlush(newRooms);
+        newRooms.forEach(room -> availabilityIndex.onRoomSaved(room.getId(), room.getCapacity(), room.getIsAvailable()));
+    }
+
+    private Row parse(long line, String text, RoomImportFormat format) {
+        try {
+            RoomRequest request = format == RoomImportFormat.CSV ? parseCsv(text) : parseJson(text);
+            Set<ConstraintViolation<RoomRequest>> violations = validator.validate(request);
+            String error = violations.isEmpty() ? null : violations.iterator().next().getMessage();
+            return new Row(line, request, error);
+        } catch (IllegalArgumentException e) {
+            return new Row(line, null, e.getMessage());
+        }
+    }
+
+    private static RoomRequest parseCsv(String line) {
+        List<String> columns = csvFields(line);
+        if (columns.size() != 3) {
+            throw new IllegalArgumentException("Expected roomNumber,capacity,price");
+        }
+        return new RoomRequest(columns.get(0).trim(), capacity(columns.get(1).trim()), price(columns.get(2).trim()));
+    }
+
+    private static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.toString().isBlank()) {
+                quoted = true;
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private RoomRequest parseJson(String line) {
+        JsonNode node;
+        try {
+            node = jsonReader.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        JsonNode roomNumber = node.get("roomNumber");
+        JsonNode capacity = node.get("capacity");
+        JsonNode price = node.get("price");
+        return new RoomRequest(
+                roomNumber == null || roomNumber.isNull() ? null : roomNumber.asText(),
+                capacity == null || capacity.isNull() ? null : capacity(capacity.asText()),
+                price == null || price.isNull() ? null : price(price.asText()));
+    }
+
+    private static Integer capacity(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Capacity must be a whole number");
+        }
+    }
+
+    private static BigDecimal price(String value) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Price must be a number");
+        }
+    }
+
+    private static boolean isHeader(String line) {
+        String first = line.trim();
+        int start = first.startsWith("\"") ? 1 : 0;
+        return first.regionMatches(true, start, "roomNumber", 0, "roomNumber".length());
+    }
+
+    private record Row(long line, RoomRequest request, String error) {
+    }
+
+    private final class Report {
+        private final List<RoomImportError> errors = new ArrayList<>();
+        private int rows;
+        private int imported;
+        private int rejected;
+
+        void reject(Row row, String error) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new RoomImportError(row.line(), row.request() == null ? null : row.request().getRoomNumber(), error));
+            }
+        }
+    }
+}
@@ -1,38 +1,69 @@
 package com.example.room_booking.service;
 
+import com.example.room_booking.availability.AvailabilityIndex;
+import com.example.room_booking.availability.NightCount;
+import com.example.room_booking.availability.SearchCache;
+import com.example.room_booking.availability.SearchKey;
+import com.example.room_booking.dto.NightOccupancy;
+import com.example.room_booking.dto.OccupancyResponse;
+import com.example.room_booking.dto.OccupiedNight;
+import com.example.room_booking.dto.RoomCalendarResponse;
 import com.example.room_booking.model.Room;
 import com.example.room_booking.model.RoomRequest;
+import com.example.room_booking.model.RoomSort;
+import com.example.room_booking.repository.RoomNightRepository;
 import com.example.room_booking.repository.RoomRepository;
 import com.example.room_booking.dto.RoomResponse;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RoomService {
     private static final Logger logger = LoggerFactory.getLogger(RoomService.class);
+    private static final int MAX_OCCUPANCY_NIGHTS = 366;
     private final RoomRepository roomRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final SearchCache searchCache;
 
-    @Cacheable("rooms")
-    @org.springframework.transaction.annotation.Transactional(readOnly = true)
-    public List<RoomResponse> getAllAvailable() {
+    /**
+     * One keyset page of available rooms ordered by {@code sort} and then id, starting
+     * after the room {@code afterId} (the last room of the previous page).
+     */
+    @Cacheable(value = "rooms", key = "{#sort, #afterId, #limit}")
+    @Transactional(readOnly = true)
+    public List<RoomResponse> getAllAvailable(RoomSort sort, Long afterId, int limit) {
+        if (limit < 1 || limit > 200) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and 200");
+        }
         try {
-            logger.info("Fetching all available rooms");
-            return roomRepository.findAll().stream()
-                    .filter(room -> room.getIsAvailable() == true)
-                    .map(RoomResponse::fromEntity)
-                    .toList();
+            logger.info("Fetching available rooms by {} after {}", sort, afterId);
+            long cursor = afterId == null ? 0 : afterId;
+            return switch (sort) {
+                case ID -> roomRepository.findAvailableAfterId(cursor, Limit.of(limit));
+                case PRICE -> roomRepository.findAvailableByPriceAfterId(cursor, Limit.of(limit));
+                case CAPACITY -> roomRepository.findAvailableByCapacityAfterId(cursor, Limit.of(limit));
+            };
         } catch (Exception e) {
             logger.error("Failed to fetch rooms", e);
             throw new ResponseStatusException(
@@ -42,6 +73,93 @@ public class RoomService {
         }
     }
 
+    @Transactional(readOnly = true)
+    public List<RoomResponse> searchAvailable(LocalDate checkIn, LocalDate checkOut, int capacity, int page, int size) {
+        try {
+            validateSearch(checkIn, checkOut, capacity, page, size);
+            return searchCache.get(SearchKey.of(checkIn, checkOut, capacity, page, size),
+                    () -> findAvailable(checkIn, checkOut, capacity, page, size));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid availability search: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private List<RoomResponse> findAvailable(LocalDate checkIn, LocalDate checkOut, int capacity, int page, int size) {
+        List<Long> roomIds = availabilityIndex.canSearch(checkIn, checkOut)
+                ? availabilityIndex.findAvailableRooms(checkIn, checkOut, capacity, page, size)
+                : roomRepository.findAvailableRoomIds(capacity, checkIn, checkOut, PageRequest.of(page, size));
+        if (roomIds.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Room> rooms = roomRepository.findAllById(roomIds).stream()
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        return roomIds.stream()
+                .map(rooms::get)
+                .filter(Objects::nonNull)
+                .map(RoomResponse::fromEntity)
+                .toList();
+    }
+
+    /**
+     * The room's occupied nights in {@code [from, to)}, read from its room-night claims.
+     */
+    @Transactional(readOnly = true)
+    public RoomCalendarResponse getCalendar(Long roomId, LocalDate from, LocalDate to) {
+        try {
+            int nights = validateOccupancyRange(from, to);
+            Room room = roomRepository.findById(roomId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Room not found"));
+            List<OccupiedNight> occupied = roomNightRepository.findOccupiedNights(roomId, from, to);
+            return RoomCalendarResponse.builder()
+                    .roomId(room.getId())
+                    .roomNumber(room.getRoomNumber())
+                    .from(from)
+                    .to(to)
+                    .nights(nights)
+                    .occupiedNights(occupied.size())
+                    .occupancyRate(rate(occupied.size(), nights))
+                    .occupied(occupied)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid calendar request: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    /**
+     * Share of all rooms occupied in {@code [from, to)}, overall and per night, read from
+     * the room-night claims.
+     */
+    @Transactional(readOnly = true)
+    public OccupancyResponse getOccupancy(LocalDate from, LocalDate to) {
+        try {
+            int nights = validateOccupancyRange(from, to);
+            long rooms = roomRepository.count();
+            Map<LocalDate, Long> occupiedRooms = roomNightRepository.countOccupiedRoomsPerNight(from, to).stream()
+                    .collect(Collectors.toMap(NightCount::night, NightCount::occupiedRooms));
+            List<NightOccupancy> perNight = from.datesUntil(to)
+                    .map(night -> {
+                        long occupied = occupiedRooms.getOrDefault(night, 0L);
+                        return new NightOccupancy(night, occupied, rate(occupied, rooms));
+                    })
+                    .toList();
+            long occupiedRoomNights = perNight.stream().mapToLong(NightOccupancy::occupiedRooms).sum();
+            return OccupancyResponse.builder()
+                    .from(from)
+                    .to(to)
+                    .rooms(rooms)
+                    .occupiedRoomNights(occupiedRoomNights)
+                    .occupancyRate(rate(occupiedRoomNights, rooms * nights))
+                    .nights(perNight)
+                    .build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid occupancy request: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     @CacheEvict(value = "rooms", allEntries = true)
     @Transactional
     public RoomResponse create(RoomRequest request) {
@@ -56,6 +174,8 @@ public class RoomService {
                     .build();
 
             Room savedRoom = roomRepository.save(newRoom);
+            availabilityIndex.onRoomSaved(savedRoom.getId(), savedRoom.getCapacity(), savedRoom.getIsAvailable());
+            searchCache.onRoomsChanged();
             logger.info("Room created - ID: {}, Number: {}, Price: ${}",
                     savedRoom.getId(),
                     savedRoom.getRoomNumber(),
@@ -84,6 +204,39 @@ public class RoomService {
         }
     }
 
+    private void validateSearch(LocalDate checkIn, LocalDate checkOut, int capacity, int page, int size) {
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Check-in date cannot be in the past");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (ChronoUnit.DAYS.between(checkIn, checkOut) > 30) {
+            throw new IllegalArgumentException("Maximum stay is 30 nights");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        if (page < 0 || size < 1 || size > 100) {
+            throw new IllegalArgumentException("Page must be positive and size between 1 and 100");
+        }
+    }
+
+    private int validateOccupancyRange(LocalDate from, LocalDate to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        long nights = ChronoUnit.DAYS.between(from, to);
+        if (nights > MAX_OCCUPANCY_NIGHTS) {
+            throw new IllegalArgumentException("Maximum range is " + MAX_OCCUPANCY_NIGHTS + " nights");
+        }
+        return (int) nights;
+    }
+
+    private static double rate(long occupied, long available) {
+        return available == 0 ? 0 : Math.round(occupied * 10_000.0 / available) / 10_000.0;
+    }
+
     private void validateRoomRequest(RoomRequest request) {
         if (request.getPrice() == null || request.getPrice().compareTo(BigDecimal.ZERO) <= 0) {
             throw new IllegalArgumentException("Price must be positive");
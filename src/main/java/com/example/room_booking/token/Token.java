@@ -5,15 +5,23 @@ import com.example.room_booking.user.User;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
 @Builder
 @Data
 @EqualsAndHashCode(callSuper = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_token_token", columnNames = "token"),
+        indexes = {
+                // H2 indexes foreign keys on its own, PostgreSQL does not
+                @Index(name = "idx_token_user", columnList = "user_id"),
+                @Index(name = "idx_token_expires_at", columnList = "expires_at")
+        })
+// Not @Audited: every login revokes and rewrites the user's tokens
 public class Token extends BaseEntity {
 
-    @Column(unique = true)
     public String token;
 
     @Enumerated(EnumType.STRING)
@@ -23,6 +31,9 @@ public class Token extends BaseEntity {
 
     public boolean expired;
 
+    @Column(name = "expires_at", nullable = false)
+    public Instant expiresAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     public User user;
 }
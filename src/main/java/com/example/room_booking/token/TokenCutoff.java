@@ -0,0 +1,9 @@
+package com.example.room_booking.token;
+
+import java.time.Instant;
+
+/**
+ * A user's tokens-valid-after instant, as loaded by {@link TokenRevocations} on startup.
+ */
+public record TokenCutoff(String username, Instant validAfter) {
+}
@@ -0,0 +1,64 @@
+package com.example.room_booking.token;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Deletes expired tokens in batches of {@code batch-size}, one transaction per batch, so
+ * the token table only holds tokens that could still be presented.
+ */
+@Component
+public class TokenPurgeJob {
+    private static final Logger logger = LoggerFactory.getLogger(TokenPurgeJob.class);
+    private final TokenRepository tokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TokenPurgeJob(TokenRepository tokenRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${security.token.purge.batch-size:1000}") int batchSize) {
+        this.tokenRepository = tokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${security.token.purge.interval-ms:3600000}",
+            fixedDelayString = "${security.token.purge.interval-ms:3600000}")
+    public void scheduledPurge() {
+        try {
+            purge(Instant.now());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to purge expired tokens, will retry: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deletes the tokens that expired before {@code now} and returns how many there were.
+     */
+    public int purge(Instant now) {
+        int purged = 0;
+        int deleted;
+        do {
+            Integer count = transactionTemplate.execute(status -> {
+                List<Long> ids = tokenRepository.findIdsExpiredBefore(now, Limit.of(batchSize));
+                tokenRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            deleted = count == null ? 0 : count;
+            purged += deleted;
+        } while (deleted == batchSize);
+        if (purged > 0) {
+            logger.info("Purged {} expired tokens", purged);
+        }
+        return purged;
+    }
+}
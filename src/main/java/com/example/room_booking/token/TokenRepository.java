@@ -1,8 +1,13 @@
 package com.example.room_booking.token;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,9 +16,22 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
     @Query(value = """
             select t from Token t inner join User u\s
             on t.user.id = u.id\s
-            where u.id = :id and (t.expired = false or t.revoked = false)\s
+            where u.id = :id and t.expired = false and t.revoked = false\s
             """)
     List<Token> findAllValidTokenByUser(Long id);
 
     Optional<Token> findByToken(String token);
+
+    /**
+     * Marks every token of the user that is not already both expired and revoked as both,
+     * in a single statement, so rows with only one of the flags set are completed too.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Token t SET t.expired = true, t.revoked = true " +
+            "WHERE t.user.id = :userId AND (t.expired = false OR t.revoked = false)")
+    int revokeAllByUser(@Param("userId") Long userId);
+
+    @Query("SELECT t.id FROM Token t WHERE t.expiresAt < :now ORDER BY t.id")
+    List<Long> findIdsExpiredBefore(@Param("now") Instant now, Limit limit);
 }
@@ -0,0 +1,57 @@
+package com.example.room_booking.token;
+
+import com.example.room_booking.config.TokenClaims;
+import com.example.room_booking.user.User;
+import com.example.room_booking.user.UserRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of every user's tokens-valid-after instant, so that revoked tokens are
+ * rejected without reading the token table. The instants are persisted on the user and
+ * loaded before the application starts serving requests.
+ * <p>
+ * JWT issue times have one-second resolution, so the cutoff is truncated to the second: a
+ * token issued earlier in the same second as the revocation stays valid.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRevocations {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocations.class);
+    private final UserRepository userRepository;
+    private final Map<String, Instant> validAfter = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        userRepository.findAllTokenCutoffs()
+                .forEach(cutoff -> validAfter.merge(cutoff.username(), cutoff.validAfter(), TokenRevocations::later));
+        logger.info("Loaded token cutoffs for {} users", validAfter.size());
+    }
+
+    /**
+     * Revokes every token issued to the user before the current second. Tokens must be
+     * issued after this call to stay valid.
+     */
+    public void revokeAll(User user) {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        userRepository.updateTokensValidAfter(user.getId(), cutoff);
+        validAfter.merge(user.getUsername(), cutoff, TokenRevocations::later);
+    }
+
+    public boolean isRevoked(TokenClaims claims) {
+        Instant cutoff = validAfter.get(claims.username());
+        return cutoff != null && (claims.issuedAt() == null || claims.issuedAt().isBefore(cutoff));
+    }
+
+    private static Instant later(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.room_booking.user;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * The user behind the current request, resolved at most once per request and kept as a
+ * request attribute for the access log, the services and JPA auditing. The JWT filter
+ * records the user it authenticated, so authenticated requests never resolve it again.
+ * Outside a request (scheduled jobs, executor threads) it is resolved on every call.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUser {
+    public static final String ANONYMOUS_USERNAME = "anonymousUser";
+    private static final String ATTRIBUTE = CurrentUser.class.getName();
+    // remembers that the request is anonymous, so it is not resolved again
+    private static final Object NONE = new Object();
+    private final UserCache userCache;
+
+    public void set(HttpServletRequest request, User user) {
+        request.setAttribute(ATTRIBUTE, user);
+    }
+
+    public Optional<User> get() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.ofNullable(resolve());
+        }
+        Object user = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (user == null) {
+            User resolved = resolve();
+            user = resolved == null ? NONE : resolved;
+            attributes.setAttribute(ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user == NONE ? Optional.empty() : Optional.of((User) user);
+    }
+
+    public String getUsername() {
+        return get().map(User::getUsername).orElse(ANONYMOUS_USERNAME);
+    }
+
+    private User resolve() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return userCache.find(authentication.getName()).orElse(null);
+    }
+}
@@ -10,11 +10,13 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "_user")
+@Table(name = "_user",
+        uniqueConstraints = @UniqueConstraint(name = "uk_user_username", columnNames = "username"))
 @Data
 @Builder
 @AllArgsConstructor
@@ -32,6 +34,12 @@ public class User implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    /**
+     * Tokens issued before this instant are revoked. See {@code TokenRevocations}.
+     */
+    @JsonIgnore
+    private Instant tokensValidAfter;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.name()));
@@ -0,0 +1,38 @@
+package com.example.room_booking.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, expiring cache of users by username so authenticated requests do not look
+ * up the user table every time. Entries must be evicted whenever a user's details or
+ * tokens change.
+ */
+@Component
+public class UserCache {
+    private final UserRepository userRepository;
+    private final Cache<String, User> users;
+
+    public UserCache(UserRepository userRepository,
+                     @Value("${security.user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${security.user-cache.expire-after-write:300}") long expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite, TimeUnit.SECONDS)
+                .build();
+    }
+
+    public Optional<User> find(String username) {
+        return Optional.ofNullable(users.get(username, name -> userRepository.findByUsername(name).orElse(null)));
+    }
+
+    public void evict(String username) {
+        users.invalidate(username);
+    }
+}
@@ -1,9 +1,25 @@
 package com.example.room_booking.user;
 
+import com.example.room_booking.token.TokenCutoff;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends CrudRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokensValidAfter = :validAfter WHERE u.id = :id")
+    int updateTokensValidAfter(@Param("id") Long id, @Param("validAfter") Instant validAfter);
+
+    @Query("SELECT new com.example.room_booking.token.TokenCutoff(u.username, u.tokensValidAfter) " +
+            "FROM User u WHERE u.tokensValidAfter IS NOT NULL")
+    List<TokenCutoff> findAllTokenCutoffs();
 }
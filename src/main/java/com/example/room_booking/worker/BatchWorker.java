@@ -0,0 +1,211 @@
+package com.example.room_booking.worker;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands items to {@link #send} off the caller's thread. Items wait in a bounded queue; a
+ * single worker thread sends them in batches of up to {@code batchSize}, waiting up to
+ * {@code lingerMillis} for a batch to fill, and retries a failed batch with exponential
+ * backoff. The {@link FileSpool} takes the items that cannot be queued within
+ * {@code enqueueTimeoutMillis}, whose batch exhausts its retries, or that are still queued
+ * when the worker stops; {@link #replaySpool} feeds them back {@code replayChunk} at a time.
+ */
+public abstract class BatchWorker<T> implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(BatchWorker.class);
+    private final String threadName;
+    private final String items;
+    private final FileSpool<T> spool;
+    private final Settings settings;
+    private final BlockingQueue<FileSpool.Entry<T>> queue;
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * @param items names the items in log messages, e.g. {@code "notifications"}
+     */
+    protected BatchWorker(String threadName, String items, FileSpool<T> spool, Settings settings) {
+        this.threadName = threadName;
+        this.items = items;
+        this.spool = spool;
+        this.settings = settings;
+        this.queue = new ArrayBlockingQueue<>(settings.queueCapacity());
+    }
+
+    public record Settings(
+            int queueCapacity,
+            int batchSize,
+            long lingerMillis,
+            int maxAttempts,
+            long retryBackoffMillis,
+            long enqueueTimeoutMillis,
+            int replayChunk
+    ) {
+    }
+
+    /**
+     * Sends one batch; throwing fails the attempt.
+     */
+    protected abstract void send(List<T> batch) throws Exception;
+
+    /**
+     * Queues the item, waiting at most {@code enqueueTimeoutMillis} for space, and spools
+     * it otherwise. Returns whether it was queued.
+     */
+    public boolean enqueue(T item) {
+        FileSpool.Entry<T> entry = FileSpool.Entry.of(item);
+        if (!running) {
+            spool.append(List.of(entry));
+            return false;
+        }
+        try {
+            if (queue.offer(entry, settings.enqueueTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            logger.warn("Queue for {} is full, spooling", items);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spool.append(List.of(entry));
+        return false;
+    }
+
+    /**
+     * Moves spooled items into the queue, a chunk at a time, until the spool is empty or
+     * the queue is full.
+     */
+    public void replaySpool() {
+        int replayed = 0;
+        int room;
+        while ((room = Math.min(settings.replayChunk(), queue.remainingCapacity())) > 0) {
+            List<FileSpool.Entry<T>> chunk = spool.take(room);
+            for (int i = 0; i < chunk.size(); i++) {
+                if (!queue.offer(chunk.get(i))) {
+                    spool.append(chunk.subList(i, chunk.size()));
+                    logger.info("Replayed {} spooled {}, queue is full", replayed + i, items);
+                    return;
+                }
+            }
+            replayed += chunk.size();
+            if (chunk.size() < room) {
+                break;
+            }
+        }
+        if (replayed > 0) {
+            logger.info("Replayed {} spooled {}", replayed, items);
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::work, threadName);
+        worker.setDaemon(true);
+        worker.start();
+        replaySpool();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<FileSpool.Entry<T>> pending = new ArrayList<>();
+        queue.drainTo(pending);
+        spool.append(pending);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts before and stops after the web server, so that items produced while the
+     * server drains its requests are still sent or spooled.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void work() {
+        List<FileSpool.Entry<T>> batch = new ArrayList<>(settings.batchSize());
+        while (running || !queue.isEmpty()) {
+            boolean interrupted = false;
+            try {
+                fill(batch);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+            if (!batch.isEmpty()) {
+                deliver(List.copyOf(batch));
+                batch.clear();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void fill(List<FileSpool.Entry<T>> batch) throws InterruptedException {
+        FileSpool.Entry<T> first = queue.poll(settings.lingerMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.lingerMillis());
+        while (batch.size() < settings.batchSize()) {
+            queue.drainTo(batch, settings.batchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() == settings.batchSize() || remaining <= 0) {
+                return;
+            }
+            FileSpool.Entry<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void deliver(List<FileSpool.Entry<T>> batch) {
+        List<T> payload = batch.stream().map(FileSpool.Entry::item).toList();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                send(payload);
+                return;
+            } catch (Exception e) {
+                if (attempt >= settings.maxAttempts()) {
+                    logger.error("Failed to send {} {} after {} attempts, spooling them", batch.size(), items, attempt, e);
+                    spool.failed(batch);
+                    return;
+                }
+                logger.warn("Failed to send {} {} (attempt {} of {}): {}",
+                        batch.size(), items, attempt, settings.maxAttempts(), e.getMessage());
+                try {
+                    Thread.sleep(settings.retryBackoffMillis() << (attempt - 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    spool.append(batch);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.room_booking.worker;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Local file, one JSON entry per line, holding items that could not be queued or
+ * delivered, each with the number of deliveries that failed. It survives restarts and is
+ * replayed a chunk at a time. Entries that cannot be read, or whose delivery failed
+ * {@code maxAttempts} times, are moved to the dead-letter file, which is never replayed.
+ */
+public class FileSpool<T> {
+    private static final Logger logger = LoggerFactory.getLogger(FileSpool.class);
+    private final ObjectMapper objectMapper;
+    private final JavaType entryType;
+    private final Path file;
+    private final Path deadLetterFile;
+    private final int maxAttempts;
+
+    public FileSpool(ObjectMapper objectMapper, Class<T> type, Path file, Path deadLetterFile, int maxAttempts) {
+        this.objectMapper = objectMapper;
+        this.entryType = objectMapper.getTypeFactory().constructParametricType(Entry.class, type);
+        this.file = file;
+        this.deadLetterFile = deadLetterFile;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * A spooled item and the number of deliveries of it that failed.
+     */
+    public record Entry<T>(T item, int attempts) {
+        public static <T> Entry<T> of(T item) {
+            return new Entry<>(item, 0);
+        }
+
+        public Entry<T> failed() {
+            return new Entry<>(item, attempts + 1);
+        }
+    }
+
+    public synchronized void append(Collection<Entry<T>> entries) {
+        write(file, entries);
+    }
+
+    /**
+     * Spools entries whose delivery has just failed again, and dead-letters those that
+     * have now failed {@code maxAttempts} times.
+     */
+    public synchronized void failed(Collection<Entry<T>> entries) {
+        Map<Boolean, List<Entry<T>>> exhausted = entries.stream()
+                .map(Entry::failed)
+                .collect(Collectors.partitioningBy(entry -> entry.attempts() >= maxAttempts));
+        write(file, exhausted.get(false));
+        if (!exhausted.get(true).isEmpty()) {
+            logger.error("Giving up on {} entries after {} failed deliveries, moving them to {}",
+                    exhausted.get(true).size(), maxAttempts, deadLetterFile);
+            write(deadLetterFile, exhausted.get(true));
+        }
+    }
+
+    /**
+     * Removes and returns up to {@code max} entries from the head of the spool. The rest of
+     * the file is copied line by line, so only the returned entries are held in memory.
+     */
+    public synchronized List<Entry<T>> take(int max) {
+        if (max <= 0 || !Files.exists(file)) {
+            return List.of();
+        }
+        Path rest = file.resolveSibling(file.getFileName() + ".tmp");
+        List<Entry<T>> entries = new ArrayList<>();
+        List<String> unreadable = new ArrayList<>();
+        boolean remaining = false;
+        try {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+                 BufferedWriter writer = Files.newBufferedWriter(rest, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    if (entries.size() < max) {
+                        try {
+                            entries.add(objectMapper.readValue(line, entryType));
+                        } catch (JsonProcessingException e) {
+                            unreadable.add(line);
+                        }
+                    } else {
+                        writer.write(line);
+                        writer.newLine();
+                        remaining = true;
+                    }
+                }
+            }
+            if (remaining) {
+                Files.move(rest, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else {
+                Files.delete(rest);
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read spool " + file, e);
+        }
+        if (!unreadable.isEmpty()) {
+            logger.warn("Moving {} unreadable spooled entries to {}", unreadable.size(), deadLetterFile);
+            writeLines(deadLetterFile, unreadable);
+        }
+        return entries;
+    }
+
+    private void write(Path target, Collection<Entry<T>> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<String> lines = new ArrayList<>(entries.size());
+        try {
+            for (Entry<T> entry : entries) {
+                lines.add(objectMapper.writeValueAsString(entry));
+            }
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to spool " + entries.size() + " entries", e);
+        }
+        writeLines(target, lines);
+    }
+
+    private static void writeLines(Path target, List<String> lines) {
+        try {
+            if (target.getParent() != null) {
+                Files.createDirectories(target.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + lines.size() + " entries to " + target, e);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+-- Schema as of the move from ddl-auto to Flyway. Written to run unchanged on H2 and
+-- PostgreSQL: enums are varchar columns with a check constraint on both.
+
+create sequence booking_seq start with 1 increment by 50;
+create sequence rooms_seq start with 1 increment by 50;
+create sequence token_seq start with 1 increment by 50;
+create sequence outbox_event_seq start with 1 increment by 50;
+create sequence audit_log_seq start with 1 increment by 50;
+create sequence revinfo_seq start with 1 increment by 50;
+
+create table _user (
+    id bigint generated by default as identity,
+    username varchar(255),
+    password varchar(255),
+    role varchar(255) check (role in ('USER', 'ADMIN')),
+    tokens_valid_after timestamp(6) with time zone,
+    primary key (id),
+    constraint uk_user_username unique (username)
+);
+
+create table rooms (
+    id bigint not null,
+    version bigint default 0 not null,
+    creation_date timestamp(6),
+    last_modification_date timestamp(6),
+    creator_id bigint,
+    last_modifier_id bigint,
+    room_number varchar(40) not null,
+    capacity integer not null,
+    price numeric(10, 2) not null,
+    is_available boolean not null,
+    primary key (id),
+    constraint uk_rooms_number unique (room_number),
+    constraint fk_rooms_creator foreign key (creator_id) references _user,
+    constraint fk_rooms_last_modifier foreign key (last_modifier_id) references _user
+);
+
+create table booking (
+    id bigint not null,
+    version bigint default 0 not null,
+    creation_date timestamp(6),
+    last_modification_date timestamp(6),
+    creator_id bigint,
+    last_modifier_id bigint,
+    customer_name varchar(255) not null,
+    check_in_date date not null,
+    check_out_date date not null,
+    status varchar(255) check (status in ('CONFIRMED', 'CANCELLED')),
+    room_id bigint not null,
+    primary key (id),
+    constraint fk_booking_room foreign key (room_id) references rooms,
+    constraint fk_booking_creator foreign key (creator_id) references _user,
+    constraint fk_booking_last_modifier foreign key (last_modifier_id) references _user
+);
+
+create index idx_booking_room_stay on booking (room_id, check_out_date, check_in_date, status);
+create index idx_booking_check_out on booking (check_out_date, status);
+
+create table room_night (
+    room_id bigint not null,
+    night date not null,
+    booking_id bigint not null,
+    primary key (night, room_id)
+);
+
+create index idx_room_night_booking on room_night (booking_id);
+create index idx_room_night_night on room_night (night);
+
+create table token (
+    id bigint not null,
+    version bigint default 0 not null,
+    creation_date timestamp(6),
+    last_modification_date timestamp(6),
+    creator_id bigint,
+    last_modifier_id bigint,
+    token varchar(255),
+    token_type varchar(255) check (token_type in ('BEARER')),
+    revoked boolean not null,
+    expired boolean not null,
+    expires_at timestamp(6) with time zone not null,
+    user_id bigint,
+    primary key (id),
+    constraint uk_token_token unique (token),
+    constraint fk_token_user foreign key (user_id) references _user,
+    constraint fk_token_creator foreign key (creator_id) references _user,
+    constraint fk_token_last_modifier foreign key (last_modifier_id) references _user
+);
+
+create index idx_token_user on token (user_id);
+create index idx_token_expires_at on token (expires_at);
+
+create table outbox_event (
+    id bigint not null,
+    aggregate_type varchar(40) not null,
+    aggregate_id bigint not null,
+    event_type varchar(60) not null,
+    payload varchar(4000) not null,
+    created_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+-- audit.mode=async
+create table audit_log (
+    id bigint not null,
+    entity_type varchar(40) not null,
+    entity_id bigint not null,
+    revision_type varchar(3) not null,
+    entity_version bigint,
+    changed_by varchar(100),
+    changed_at timestamp(6) with time zone not null,
+    state varchar(4000) not null,
+    primary key (id)
+);
+
+create index idx_audit_log_entity on audit_log (entity_type, entity_id);
+
+-- audit.mode=sync (Envers). Hibernate numbers revisions from revinfo_seq on PostgreSQL
+-- and from the identity column on H2.
+create table revinfo (
+    rev integer generated by default as identity,
+    revtstmp bigint,
+    primary key (rev)
+);
+
+create table rooms_aud (
+    rev integer not null,
+    revtype smallint,
+    id bigint not null,
+    creation_date timestamp(6),
+    last_modification_date timestamp(6),
+    creator_id bigint,
+    last_modifier_id bigint,
+    room_number varchar(40),
+    capacity integer,
+    price numeric(10, 2),
+    is_available boolean,
+    primary key (rev, id),
+    constraint fk_rooms_aud_rev foreign key (rev) references revinfo
+);
+
+create table booking_aud (
+    rev integer not null,
+    revtype smallint,
+    id bigint not null,
+    creation_date timestamp(6),
+    last_modification_date timestamp(6),
+    creator_id bigint,
+    last_modifier_id bigint,
+    customer_name varchar(255),
+    check_in_date date,
+    check_out_date date,
+    status varchar(255) check (status in ('CONFIRMED', 'CANCELLED')),
+    room_id bigint,
+    primary key (rev, id),
+    constraint fk_booking_aud_rev foreign key (rev) references revinfo
+);
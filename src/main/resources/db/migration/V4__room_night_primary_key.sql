@@ -0,0 +1,20 @@
+-- V1 declared the room_night primary key as (night, room_id), so a room's calendar had to
+-- range over every room's claims for those nights. The table is rebuilt with the key led by
+-- room_id; the night index stays for the hotel-wide occupancy count.
+
+create table room_night_new (
+    room_id bigint not null,
+    night date not null,
+    booking_id bigint not null,
+    constraint room_night_pkey primary key (room_id, night)
+);
+
+insert into room_night_new (room_id, night, booking_id)
+select room_id, night, booking_id from room_night;
+
+drop table room_night;
+
+alter table room_night_new rename to room_night;
+
+create index idx_room_night_booking on room_night (booking_id);
+create index idx_room_night_night on room_night (night);
@@ -0,0 +1,117 @@
+package com.example.room_booking.audit;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.service.BookingService;
+import com.example.room_booking.service.RoomService;
+import com.example.room_booking.token.Token;
+import com.example.room_booking.token.TokenRepository;
+import com.example.room_booking.worker.FileSpool;
+import org.hibernate.envers.RevisionType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.room_booking.support.TestFixtures.newRoom;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"audit.mode=async", NO_OUTBOX_RELAY})
+class AuditWriterTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private AuditRecordRepository auditRecordRepository;
+
+    @Autowired
+    private AuditWriter auditWriter;
+
+    @Autowired
+    private AuditSpool auditSpool;
+
+    @Test
+    void recordsCommittedBookingChangesAfterCommit() throws InterruptedException {
+        Long roomId = newRoom(roomService).id();
+        BookingResponse booking = book(roomId);
+        bookingService.cancel(booking.id());
+
+        List<AuditRecord> records = awaitRecords("Booking", booking.id(), 2);
+        assertEquals(List.of(RevisionType.ADD, RevisionType.MOD),
+                records.stream().map(AuditRecord::getRevisionType).toList());
+        assertEquals(List.of(0L, 1L), records.stream().map(AuditRecord::getEntityVersion).toList());
+        assertTrue(records.get(1).getState().contains("\"status\":\"CANCELLED\""));
+        assertTrue(records.get(1).getState().contains("\"room\":" + roomId));
+    }
+
+    @Test
+    void skipsRolledBackChangesAndEntitiesThatAreNotAudited() throws InterruptedException {
+        long before = auditRecordRepository.count();
+        Token token = tokenRepository.save(Token.builder()
+                .token(UUID.randomUUID().toString())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build());
+        Long roomId = newRoom(roomService).id();
+        BookingResponse booking = book(roomId);
+        assertThrows(ResponseStatusException.class, () -> book(roomId));
+        Long lastRoom = newRoom(roomService).id();
+
+        // records are written in commit order, so once the last room is in, all earlier ones are
+        awaitRecords("Room", lastRoom, 1);
+        assertEquals(1, auditRecordRepository.findByEntityTypeAndEntityIdOrderByIdAsc("Booking", booking.id()).size());
+        assertEquals(0, auditRecordRepository.findByEntityTypeAndEntityIdOrderByIdAsc("Token", token.getId()).size());
+        // two rooms and one booking; nothing for the token or the rejected booking
+        assertEquals(before + 3, auditRecordRepository.count());
+    }
+
+    @Test
+    void replaysSpooledRecords() throws InterruptedException {
+        long entityId = -System.nanoTime();
+        auditSpool.append(List.of(FileSpool.Entry.of(AuditRecord.builder()
+                .entityType("Room")
+                .entityId(entityId)
+                .revisionType(RevisionType.ADD)
+                .changedAt(Instant.now())
+                .state("{}")
+                .build())));
+
+        auditWriter.replaySpool();
+
+        assertEquals(RevisionType.ADD, awaitRecords("Room", entityId, 1).get(0).getRevisionType());
+        assertTrue(auditSpool.take(1).isEmpty());
+    }
+
+    private List<AuditRecord> awaitRecords(String entityType, Long entityId, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        List<AuditRecord> records;
+        do {
+            records = auditRecordRepository.findByEntityTypeAndEntityIdOrderByIdAsc(entityType, entityId);
+            if (records.size() >= expected) {
+                return records;
+            }
+            Thread.sleep(20);
+        } while (System.currentTimeMillis() < deadline);
+        throw new AssertionError("Expected " + expected + " audit records for " + entityType + " " + entityId
+                + " but found " + records.size());
+    }
+
+    private BookingResponse book(Long roomId) {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        return bookingService.create(new BookingRequest(roomId, checkIn, checkIn.plusDays(2)));
+    }
+}
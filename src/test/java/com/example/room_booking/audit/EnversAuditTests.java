@@ -0,0 +1,83 @@
+package com.example.room_booking.audit;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.model.Booking;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.model.BookingStatus;
+import com.example.room_booking.model.Room;
+import com.example.room_booking.model.RoomRequest;
+import com.example.room_booking.service.BookingService;
+import com.example.room_booking.service.RoomService;
+import com.example.room_booking.token.Token;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.envers.AuditReader;
+import org.hibernate.envers.AuditReaderFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {"audit.mode=sync", NO_OUTBOX_RELAY})
+class EnversAuditTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void auditsOptedInEntitiesInTheChangingTransaction() {
+        Long roomId = roomService.create(new RoomRequest(
+                "E-" + UUID.randomUUID().toString().substring(0, 8), 2, BigDecimal.valueOf(100))).id();
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        BookingResponse booking = bookingService.create(new BookingRequest(roomId, checkIn, checkIn.plusDays(2)));
+        bookingService.cancel(booking.id());
+
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            AuditReader auditReader = AuditReaderFactory.get(entityManager);
+            assertTrue(auditReader.isEntityClassAudited(Booking.class));
+            assertTrue(auditReader.isEntityClassAudited(Room.class));
+            assertFalse(auditReader.isEntityClassAudited(Token.class));
+
+            assertEquals(2, auditReader.getRevisions(Booking.class, booking.id()).size());
+            Number first = auditReader.getRevisions(Booking.class, booking.id()).get(0);
+            assertEquals(BookingStatus.CONFIRMED, auditReader.find(Booking.class, booking.id(), first).getStatus());
+        }
+        assertEquals(0, applicationContext.getBeanNamesForType(AuditWriter.class).length);
+    }
+
+    @Test
+    void confirmingAHoldIsAuditedLikeAnyOtherChange() {
+        Long roomId = roomService.create(new RoomRequest(
+                "E-" + UUID.randomUUID().toString().substring(0, 8), 2, BigDecimal.valueOf(100))).id();
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        BookingResponse hold = bookingService.hold(new BookingRequest(roomId, checkIn, checkIn.plusDays(2)));
+        bookingService.confirm(hold.id());
+
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            AuditReader auditReader = AuditReaderFactory.get(entityManager);
+            List<Number> revisions = auditReader.getRevisions(Booking.class, hold.id());
+            assertEquals(2, revisions.size());
+            assertEquals(BookingStatus.HELD, auditReader.find(Booking.class, hold.id(), revisions.get(0)).getStatus());
+            assertEquals(BookingStatus.CONFIRMED, auditReader.find(Booking.class, hold.id(), revisions.get(1)).getStatus());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.room_booking.availability;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.dto.RoomResponse;
+import com.example.room_booking.model.BatchBookingRequest;
+import com.example.room_booking.model.BatchMode;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.service.BookingService;
+import com.example.room_booking.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.example.room_booking.support.TestFixtures.newRoom;
+import static com.example.room_booking.support.TestProperties.NO_AUDIT;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        NO_OUTBOX_RELAY,
+        NO_AUDIT
+})
+class SearchCacheTests {
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(40);
+
+    @Autowired
+    private SearchCache searchCache;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void bookingDropsOnlyTheSearchesItOverlaps() {
+        Long roomId = newRoom(roomService, 5).id();
+        SearchKey overlapping = SearchKey.of(CHECK_IN.plusDays(1), CHECK_IN.plusDays(4), 5, 0, 100);
+        SearchKey later = SearchKey.of(CHECK_IN.plusDays(2), CHECK_IN.plusDays(6), 5, 0, 100);
+        assertTrue(contains(search(overlapping), roomId));
+        assertTrue(contains(search(later), roomId));
+
+        bookingService.create(new BookingRequest(roomId, CHECK_IN, CHECK_IN.plusDays(2)));
+
+        assertFalse(searchCache.contains(overlapping));
+        assertTrue(searchCache.contains(later));
+        assertFalse(contains(search(overlapping), roomId));
+    }
+
+    @Test
+    void cancellationDropsTheSearchesItOverlaps() {
+        Long roomId = newRoom(roomService, 5).id();
+        BookingResponse booking = bookingService.create(
+                new BookingRequest(roomId, CHECK_IN.plusDays(10), CHECK_IN.plusDays(12)));
+        SearchKey key = SearchKey.of(CHECK_IN.plusDays(11), CHECK_IN.plusDays(13), 5, 0, 100);
+        assertFalse(contains(search(key), roomId));
+
+        bookingService.cancel(booking.id());
+
+        assertFalse(searchCache.contains(key));
+        assertTrue(contains(search(key), roomId));
+    }
+
+    @Test
+    void batchDropsTheSearchesAnyOfItsBookingsOverlap() {
+        Long first = newRoom(roomService, 5).id();
+        Long second = newRoom(roomService, 5).id();
+        SearchKey firstStay = SearchKey.of(CHECK_IN.plusDays(30), CHECK_IN.plusDays(31), 5, 0, 100);
+        SearchKey secondStay = SearchKey.of(CHECK_IN.plusDays(34), CHECK_IN.plusDays(36), 5, 0, 100);
+        SearchKey between = SearchKey.of(CHECK_IN.plusDays(32), CHECK_IN.plusDays(33), 5, 0, 100);
+        search(firstStay);
+        search(secondStay);
+        search(between);
+
+        bookingService.createBatch(new BatchBookingRequest(List.of(
+                new BookingRequest(first, CHECK_IN.plusDays(30), CHECK_IN.plusDays(31)),
+                new BookingRequest(second, CHECK_IN.plusDays(35), CHECK_IN.plusDays(36))), BatchMode.BEST_EFFORT));
+
+        assertFalse(searchCache.contains(firstStay));
+        assertFalse(searchCache.contains(secondStay));
+        assertTrue(searchCache.contains(between));
+    }
+
+    @Test
+    void newRoomsDropEverySearch() {
+        SearchKey key = SearchKey.of(CHECK_IN.plusDays(20), CHECK_IN.plusDays(21), 5, 0, 100);
+        search(key);
+        assertTrue(searchCache.contains(key));
+
+        Long roomId = newRoom(roomService, 5).id();
+
+        assertFalse(searchCache.contains(key));
+        assertTrue(contains(search(key), roomId));
+    }
+
+    private List<RoomResponse> search(SearchKey key) {
+        return roomService.searchAvailable(LocalDate.ofEpochDay(key.checkIn()), LocalDate.ofEpochDay(key.checkOut()),
+                key.capacity(), key.page(), key.size());
+    }
+
+    private static boolean contains(List<RoomResponse> rooms, Long roomId) {
+        return rooms.stream().anyMatch(room -> room.id().equals(roomId));
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.room_booking.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.example.room_booking.accesslog.AccessLogEvent;
+import com.example.room_booking.accesslog.AccessLogSampler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost on the request thread of logging one request, writing to a real file:
+ * <ul>
+ *     <li>{@code sync-text}: the former LoggingAspect, two formatted lines through a
+ *     synchronous file appender;</li>
+ *     <li>{@code async-json}: every request as one structured event through the bounded
+ *     async appender of logback-spring.xml;</li>
+ *     <li>{@code async-json-sampled}: the same with the default 10% sample rate.</li>
+ * </ul>
+ * The async appender drops events when its queue is full, which a benchmark that logs
+ * nonstop reaches; the application's request rate is far below the writer's.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class AccessLogBenchmark {
+
+    @Param({"sync-text", "async-json", "async-json-sampled"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+    private AccessLogSampler sampler;
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("access-log-benchmark");
+        context = new LoggerContext();
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        logger = context.getLogger(mode.startsWith("sync") ? "com.example.room_booking.aspect.LoggingAspect" : "access");
+        logger.setAdditive(false);
+        if (mode.startsWith("sync")) {
+            PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+            encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n");
+            logger.addAppender(fileAppender(encoder));
+        } else {
+            StructuredLogEncoder encoder = new StructuredLogEncoder();
+            encoder.setFormat("logstash");
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setDiscardingThreshold(0);
+            async.setNeverBlock(true);
+            async.addAppender(fileAppender(encoder));
+            async.start();
+            logger.addAppender(async);
+        }
+        sampler = new AccessLogSampler(mode.endsWith("sampled") ? 0.1 : 1.0, 500);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public void logRequest() {
+        if (mode.startsWith("sync")) {
+            logger.info("Received API request {} [{}.{}] by {}", "/bookings/42", "BookingController", "getBooking", "alice");
+            logger.info("Completed API request {} [{}.{}] by {} in {} ms", "/bookings/42", "BookingController",
+                    "getBooking", "alice", 3L);
+        } else if (sampler.shouldLog(200, 3)) {
+            new AccessLogEvent("GET", "/bookings/42", "BookingController.getBooking", "alice", 200, 3).logTo(logger);
+        }
+    }
+
+    private Appender<ILoggingEvent> fileAppender(Encoder<ILoggingEvent> encoder) {
+        encoder.setContext(context);
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(directory.resolve(mode + ".log").toString());
+        appender.setEncoder(encoder);
+        appender.start();
+        return appender;
+    }
+}
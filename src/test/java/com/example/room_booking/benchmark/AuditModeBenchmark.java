@@ -0,0 +1,77 @@
+package com.example.room_booking.benchmark;
+
+import com.example.room_booking.auth.AuthenticationRequest;
+import com.example.room_booking.auth.AuthenticationResponse;
+import com.example.room_booking.auth.AuthenticationService;
+import com.example.room_booking.auth.RegisterRequest;
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.service.BookingService;
+import com.example.room_booking.user.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write latency of a booking and of a login for each {@code audit.mode}. Bookings are
+ * audited, tokens are not, so {@code authenticate} shows what the login path pays for the
+ * audit mode alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuditModeBenchmark {
+    private static final AuthenticationRequest LOGIN = new AuthenticationRequest("bench", "bench-password");
+
+    @Param({"sync", "async", "off"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private AuthenticationService authenticationService;
+    private int rooms;
+    private LocalDate firstFreeNight;
+    private long sequence;
+    private BookingRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(1000, "audit.mode=" + mode, "outbox.relay.enabled=false");
+        bookingService = context.getBean(BookingService.class);
+        authenticationService = context.getBean(AuthenticationService.class);
+        authenticationService.register(new RegisterRequest(LOGIN.getUsername(), LOGIN.getPassword(), Role.USER));
+        rooms = BenchmarkDataset.rooms(1000);
+        firstFreeNight = LocalDate.now().plusDays(2L * 1000 / rooms + 8);
+    }
+
+    /**
+     * Picks the next room round-robin and the next unbooked dates for it.
+     */
+    @Setup(Level.Invocation)
+    public void nextRequest() {
+        long roomId = 1 + sequence % rooms;
+        LocalDate checkIn = firstFreeNight.plusDays(4 * (sequence / rooms));
+        sequence++;
+        request = new BookingRequest(roomId, checkIn, checkIn.plusDays(3));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponse create() {
+        return bookingService.create(request);
+    }
+
+    @Benchmark
+    public AuthenticationResponse authenticate() {
+        return authenticationService.authenticate(LOGIN);
+    }
+}
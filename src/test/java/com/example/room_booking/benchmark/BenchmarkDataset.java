@@ -0,0 +1,104 @@
+package com.example.room_booking.benchmark;
+
+import com.example.room_booking.RoomBookingApplication;
+import com.example.room_booking.availability.AvailabilityIndex;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against a private in-memory H2 database and seeds it with
+ * {@code bookings} bookings spread over {@code bookings / 100} rooms (at least 100), half
+ * of them in the past. Every tenth booking is cancelled. Active bookings that have not
+ * ended yet also get their room-night claims.
+ */
+final class BenchmarkDataset {
+    static final int BOOKINGS_PER_ROOM = 100;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private BenchmarkDataset() {
+    }
+
+    static ConfigurableApplicationContext start(int bookings, String... properties) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RoomBookingApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:bench" + bookings + ";DATABASE_TO_UPPER=false",
+                        "logging.file.name=target/benchmark.log",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.room_booking=WARN")
+                .properties(properties)
+                .run();
+        seed(context.getBean(JdbcTemplate.class), bookings);
+        context.getBean(AvailabilityIndex.class).warmUp();
+        return context;
+    }
+
+    static int rooms(int bookings) {
+        return Math.max(100, bookings / BOOKINGS_PER_ROOM);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate, int bookings) {
+        int rooms = rooms(bookings);
+        List<Object[]> rows = new ArrayList<>(rooms);
+        for (int room = 1; room <= rooms; room++) {
+            rows.add(new Object[]{room, "R" + room, 1 + room % 5, BigDecimal.valueOf(50 + room % 200)});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into rooms (id, room_number, capacity, price, is_available, version) values (?, ?, ?, ?, true, 0)",
+                rows);
+        restartSequence(jdbcTemplate, "rooms_seq", rooms);
+
+        LocalDate today = LocalDate.now();
+        LocalDate base = today.minusDays(2L * bookings / rooms);
+        rows = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> claims = new ArrayList<>(3 * BATCH_SIZE);
+        for (int i = 0; i < bookings; i++) {
+            long roomId = 1 + i % rooms;
+            LocalDate checkIn = base.plusDays(4L * (i / rooms));
+            LocalDate checkOut = checkIn.plusDays(3);
+            boolean cancelled = i % 10 == 0;
+            rows.add(new Object[]{
+                    i + 1,
+                    "guest" + i,
+                    Date.valueOf(checkIn),
+                    Date.valueOf(checkOut),
+                    cancelled ? "CANCELLED" : "CONFIRMED",
+                    roomId,
+                    BigDecimal.valueOf(3 * (50 + roomId % 200))});
+            if (!cancelled && checkOut.isAfter(today)) {
+                for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+                    claims.add(new Object[]{roomId, Date.valueOf(night), i + 1});
+                }
+            }
+            if (rows.size() == BATCH_SIZE || i == bookings - 1) {
+                jdbcTemplate.batchUpdate(
+                        "insert into booking (id, customer_name, check_in_date, check_out_date, status, room_id, total_price, version) " +
+                                "values (?, ?, ?, ?, ?, ?, ?, 0)",
+                        rows);
+                jdbcTemplate.batchUpdate(
+                        "insert into room_night (room_id, night, booking_id) values (?, ?, ?)",
+                        claims);
+                rows.clear();
+                claims.clear();
+            }
+        }
+        restartSequence(jdbcTemplate, "booking_seq", bookings);
+    }
+
+    /**
+     * Moves the sequence past the seeded ids. Hibernate's pooled optimizer hands out the
+     * {@value #ID_ALLOCATION_SIZE} ids ending at the value it reads, so the next value must
+     * leave a whole block above {@code lastId}.
+     */
+    private static void restartSequence(JdbcTemplate jdbcTemplate, String sequence, long lastId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (lastId + ID_ALLOCATION_SIZE));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.room_booking.benchmark;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.model.Booking;
+import com.example.room_booking.model.BookingStatus;
+import com.example.room_booking.model.Room;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingResponseBenchmark {
+
+    @Param({"1", "7", "30"})
+    public int nights;
+
+    private Booking booking;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Room room = Room.builder()
+                .roomNumber("101")
+                .capacity(2)
+                .price(new BigDecimal("129.90"))
+                .isAvailable(true)
+                .build();
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        booking = Booking.builder()
+                .customerName("guest")
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(nights))
+                .status(BookingStatus.CONFIRMED)
+                .totalPrice(room.getPrice().multiply(BigDecimal.valueOf(nights)))
+                .room(room)
+                .build();
+    }
+
+    @Benchmark
+    public BookingResponse fromEntity() {
+        return BookingResponse.fromEntity(booking);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.room_booking.benchmark;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.service.BookingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int bookings;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private int rooms;
+    private LocalDate firstFreeNight;
+    private long sequence;
+    private BookingRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(bookings);
+        bookingService = context.getBean(BookingService.class);
+        rooms = BenchmarkDataset.rooms(bookings);
+        firstFreeNight = LocalDate.now().plusDays(2L * bookings / rooms + 8);
+    }
+
+    /**
+     * Picks the next room round-robin and the next unbooked dates for it.
+     */
+    @Setup(Level.Invocation)
+    public void nextRequest() {
+        long roomId = 1 + sequence % rooms;
+        LocalDate checkIn = firstFreeNight.plusDays(4 * (sequence / rooms));
+        sequence++;
+        request = new BookingRequest(roomId, checkIn, checkIn.plusDays(3));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BookingResponse create() {
+        return bookingService.create(request);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.room_booking.benchmark;
+
+import com.example.room_booking.config.JwtService;
+import com.example.room_booking.config.TokenClaims;
+import com.example.room_booking.user.Role;
+import com.example.room_booking.user.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original validation path (three full parses, each rebuilding the key and
+ * parser) with {@link JwtService#parse}, with and without the verified-token cache. The
+ * {@code tokens} parameter is the number of distinct active tokens being presented, which
+ * decides how often the cache can answer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+    static final String SECRET_KEY = "6A3F9D2E7C1B4A8E5F0C3D9A2B7E4F8C1A5D3E6B9F2C7A4E8D1B6F3C9A2E5D8B1F4C7";
+
+    @Param({"1000", "10000", "100000"})
+    public int tokens;
+
+    private String[] issued;
+    private User[] users;
+    private JwtService uncached;
+    private JwtService cached;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uncached = new JwtService(SECRET_KEY, 0);
+        cached = new JwtService(SECRET_KEY, 10_000);
+        issued = new String[tokens];
+        users = new User[tokens];
+        for (int i = 0; i < tokens; i++) {
+            users[i] = User.builder().id((long) i).username("user" + i).role(Role.USER).build();
+            issued[i] = uncached.generateToken(users[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean legacyTripleParse(Cursor cursor) {
+        int i = cursor.next++ % tokens;
+        String token = issued[i];
+        String username = legacyClaims(token).getSubject();
+        return username != null
+                && legacyClaims(token).getSubject().equals(users[i].getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParse(Cursor cursor) {
+        return validate(uncached, cursor);
+    }
+
+    @Benchmark
+    public boolean singleParseCached(Cursor cursor) {
+        return validate(cached, cursor);
+    }
+
+    private boolean validate(JwtService jwtService, Cursor cursor) {
+        int i = cursor.next++ % tokens;
+        TokenClaims claims = jwtService.parse(issued[i]).orElseThrow();
+        return jwtService.isValidFor(claims, users[i]);
+    }
+
+    private static Claims legacyClaims(String token) {
+        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
+        Key key = Keys.hmacShaKeyFor(keyBytes);
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.room_booking.benchmark;
+
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of {@code GET /rooms/available}, whose room lookup blocks on JDBC,
+ * with platform request threads and then with virtual request threads. Every client sends
+ * its requests one after the other; all clients start together.
+ *
+ * <pre>./mvnw -Ploadtest verify [-Dloadtest.clients=1000,5000,10000] [-Dloadtest.requests=20]</pre>
+ */
+public final class LoadTest {
+    private static final int BOOKINGS = 100_000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] clients = Arrays.stream((args.length > 0 ? args[0] : "1000,5000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        System.out.printf("%-9s %8s %10s %10s %9s %9s %9s %8s%n",
+                "threads", "clients", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (boolean virtual : new boolean[]{false, true}) {
+            ConfigurableApplicationContext context = BenchmarkDataset.start(BOOKINGS,
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "server.tomcat.max-connections=" + (Arrays.stream(clients).max().orElse(0) + 1000),
+                    "server.tomcat.accept-count=1000");
+            try {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                for (int clientCount : clients) {
+                    run(port, clientCount, requests).print(virtual ? "virtual" : "platform", clientCount);
+                }
+            } finally {
+                context.close();
+            }
+        }
+    }
+
+    private static Result run(int port, int clients, int requests) throws InterruptedException {
+        long[][] latencies = new long[clients][];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        long began;
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .connectTimeout(Duration.ofSeconds(30))
+                     .executor(httpExecutor)
+                     .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                executor.submit(() -> {
+                    long[] own = new long[requests];
+                    start.await();
+                    for (int r = 0; r < requests; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(availabilityRequest(port),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        own[r] = System.nanoTime() - sent;
+                    }
+                    latencies[client] = own;
+                    return null;
+                });
+            }
+            began = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.HOURS);
+        }
+        long elapsed = System.nanoTime() - began;
+        List<long[]> completed = new ArrayList<>(clients);
+        for (long[] own : latencies) {
+            if (own != null) {
+                completed.add(own);
+            }
+        }
+        long[] all = completed.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, elapsed, errors.get());
+    }
+
+    private static HttpRequest availabilityRequest(int port) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate checkIn = LocalDate.now().plusDays(1 + random.nextInt(300));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/rooms/available"
+                        + "?checkIn=" + checkIn
+                        + "&checkOut=" + checkIn.plusDays(1 + random.nextInt(7))
+                        + "&capacity=" + (1 + random.nextInt(4))
+                        + "&page=" + random.nextInt(5)))
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private record Result(long[] latencies, long elapsedNanos, long errors) {
+        void print(String threads, int clients) {
+            System.out.printf("%-9s %8d %10d %10.0f %9.1f %9.1f %9.1f %8d%n",
+                    threads, clients, latencies.length,
+                    latencies.length / (elapsedNanos / 1e9),
+                    percentile(0.50), percentile(0.99), percentile(1.0),
+                    errors);
+        }
+
+        private double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(p * latencies.length) - 1);
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.room_booking.benchmark;
+
+import com.example.room_booking.outbox.OutboxRelay;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events per second the outbox relay drains from a backlog of {@value #BACKLOG} events,
+ * per sink and batch size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(OutboxRelayBenchmark.BACKLOG)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OutboxRelayBenchmark {
+    static final int BACKLOG = 20_000;
+    private static final String PAYLOAD = "{\"bookingId\":1,\"customerName\":\"guest\",\"roomId\":1,\"roomNumber\":\"R1\"," +
+            "\"checkInDate\":\"2030-01-01\",\"checkOutDate\":\"2030-01-04\",\"pricePerNight\":120.00,\"totalPrice\":360.00," +
+            "\"occurredAt\":\"2030-01-01T00:00:00Z\"}";
+
+    @Param({"log", "file"})
+    public String sink;
+
+    @Param({"100", "500"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private OutboxRelay outboxRelay;
+    private JdbcTemplate jdbcTemplate;
+    private long nextId = 1;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(1000,
+                "outbox.relay.enabled=false",
+                "outbox.sink=" + sink,
+                "outbox.file=target/outbox-benchmark.ndjson",
+                "outbox.relay.batch-size=" + batchSize);
+        outboxRelay = context.getBean(OutboxRelay.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void fillBacklog() {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(BACKLOG);
+        for (int i = 0; i < BACKLOG; i++) {
+            rows.add(new Object[]{nextId++, nextId % 1000, PAYLOAD, now});
+        }
+        jdbcTemplate.batchUpdate("insert into outbox_event (id, aggregate_type, aggregate_id, event_type, payload, created_at) " +
+                "values (?, 'Booking', ?, 'BookingCreated', ?, ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int drain() {
+        int relayed = 0;
+        for (int batch; (batch = outboxRelay.relayBatch()) > 0; ) {
+            relayed += batch;
+        }
+        return relayed;
+    }
+}
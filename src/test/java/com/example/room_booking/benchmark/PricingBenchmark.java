@@ -0,0 +1,109 @@
+package com.example.room_booking.benchmark;
+
+import com.example.room_booking.model.Room;
+import com.example.room_booking.pricing.RatePlan;
+import com.example.room_booking.pricing.RatePlanRepository;
+import com.example.room_booking.pricing.RateTable;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices a stay three ways:
+ * <ul>
+ *     <li>{@code flatBigDecimal}: the former path, base price times nights, which cannot
+ *     express rate plans;</li>
+ *     <li>{@code perNightBigDecimal}: the same plans as the table, resolved night by night
+ *     and summed as {@code BigDecimal};</li>
+ *     <li>{@code rateTable}: the precomputed cents of {@link RateTable}.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PricingBenchmark {
+
+    @Param({"1", "7", "30"})
+    public int nights;
+
+    private Room room;
+    private List<RatePlan> plans;
+    private RateTable rateTable;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        room = Room.builder()
+                .roomNumber("101")
+                .capacity(2)
+                .price(new BigDecimal("129.90"))
+                .isAvailable(true)
+                .build();
+        room.setId(1L);
+        LocalDate today = LocalDate.now();
+        plans = List.of(
+                plan(1, today, today.plusDays(365), "119.90", "149.90"),
+                plan(2, today.plusDays(5), today.plusDays(95), "159.90", "189.90"),
+                plan(3, today.plusDays(20), today.plusDays(27), "219.90", null),
+                plan(4, today.plusDays(200), today.plusDays(230), "99.90", null));
+        RatePlanRepository repository = (RatePlanRepository) Proxy.newProxyInstance(
+                RatePlanRepository.class.getClassLoader(), new Class<?>[]{RatePlanRepository.class},
+                (proxy, method, args) -> plans);
+        rateTable = new RateTable(repository, 366, Duration.ofHours(1));
+        checkIn = today.plusDays(10);
+        checkOut = checkIn.plusDays(nights);
+    }
+
+    @Benchmark
+    public BigDecimal flatBigDecimal() {
+        return room.getPrice().multiply(BigDecimal.valueOf(checkIn.until(checkOut).getDays()));
+    }
+
+    @Benchmark
+    public BigDecimal perNightBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            total = total.add(priceOn(night));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal rateTable() {
+        return rateTable.totalPrice(room, checkIn, checkOut);
+    }
+
+    private BigDecimal priceOn(LocalDate night) {
+        for (int i = plans.size() - 1; i >= 0; i--) {
+            RatePlan plan = plans.get(i);
+            if (!night.isBefore(plan.getStartDate()) && night.isBefore(plan.getEndDate())) {
+                DayOfWeek day = night.getDayOfWeek();
+                boolean weekend = day == DayOfWeek.FRIDAY || day == DayOfWeek.SATURDAY;
+                return weekend && plan.getWeekendPrice() != null ? plan.getWeekendPrice() : plan.getNightlyPrice();
+            }
+        }
+        return room.getPrice();
+    }
+
+    private static RatePlan plan(long id, LocalDate start, LocalDate end, String nightly, String weekend) {
+        RatePlan plan = RatePlan.builder()
+                .name("plan" + id)
+                .startDate(start)
+                .endDate(end)
+                .nightlyPrice(new BigDecimal(nightly))
+                .weekendPrice(weekend == null ? null : new BigDecimal(weekend))
+                .build();
+        plan.setId(id);
+        return plan;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.room_booking.benchmark;
+
+import com.example.room_booking.dto.RoomResponse;
+import com.example.room_booking.model.RoomSort;
+import com.example.room_booking.service.RoomService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RoomServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int bookings;
+
+    @Param({"ID", "PRICE"})
+    public RoomSort sort;
+
+    private ConfigurableApplicationContext context;
+    private RoomService roomService;
+    private CacheManager cacheManager;
+    private long afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDataset.start(bookings);
+        roomService = context.getBean(RoomService.class);
+        cacheManager = context.getBean(CacheManager.class);
+        afterId = BenchmarkDataset.rooms(bookings) / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RoomResponse> getAllAvailableCached() {
+        return roomService.getAllAvailable(sort, afterId, 50);
+    }
+
+    @Benchmark
+    public List<RoomResponse> getAllAvailableUncached() {
+        cacheManager.getCache("rooms").clear();
+        return roomService.getAllAvailable(sort, afterId, 50);
+    }
+}
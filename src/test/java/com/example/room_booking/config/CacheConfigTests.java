@@ -0,0 +1,28 @@
+package com.example.room_booking.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CacheConfigTests {
+
+    @Test
+    void createsOnlyTheDefaultAndConfiguredCaches() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("cache.specs.bookings", "maximumSize=10,expireAfterWrite=1m")
+                .withProperty("cache.specs.quotes", "maximumSize=10");
+        CacheManager cacheManager = new CacheConfig().cacheManager(environment);
+
+        assertEquals(Set.of("rooms", "bookings", "quotes"), Set.copyOf(cacheManager.getCacheNames()));
+        assertNotNull(cacheManager.getCache("quotes"));
+        assertNull(cacheManager.getCache("booking"));
+        assertThrows(IllegalStateException.class, () -> CacheConfig.requireCache(cacheManager, "booking"));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.room_booking.db.migration;
+
+import com.example.room_booking.support.MigrationChecks;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+/**
+ * Runs the {@link MigrationChecks} against H2, without an application context.
+ */
+class MigrationTests extends MigrationChecks {
+
+    @Override
+    protected DataSource emptyDatabase() {
+        // kept open between connections, and named so that each check starts empty
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";DATABASE_TO_UPPER=false;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.room_booking.notification;
+
+import com.example.room_booking.worker.FileSpool;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationDispatcherTests {
+
+    @TempDir
+    private Path spoolDir;
+
+    private final List<List<Notification>> sent = new CopyOnWriteArrayList<>();
+    private NotificationDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null && dispatcher.isRunning()) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void sendsQueuedNotificationsInBatches() throws Exception {
+        dispatcher = start(sent::add, 50);
+
+        for (long id = 0; id < 120; id++) {
+            assertTrue(dispatcher.enqueue(notification(id)));
+        }
+
+        await(() -> delivered() == 120);
+        assertTrue(sent.stream().allMatch(batch -> batch.size() <= 50));
+        assertTrue(sent.size() < 120);
+    }
+
+    @Test
+    void retriesAFailedBatch() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        dispatcher = start(batch -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            sent.add(batch);
+        }, 10);
+
+        dispatcher.enqueue(notification(1));
+
+        await(() -> delivered() == 1);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void spoolsUndeliverableNotificationsAndReplaysThem() throws Exception {
+        AtomicBoolean healthy = new AtomicBoolean();
+        AtomicInteger attempts = new AtomicInteger();
+        NotificationSink flaky = batch -> {
+            attempts.incrementAndGet();
+            if (!healthy.get()) {
+                throw new IllegalStateException("sink unavailable");
+            }
+            sent.add(batch);
+        };
+        NotificationSpool spool = spool();
+        dispatcher = start(flaky, 10, spool);
+
+        dispatcher.enqueue(notification(1));
+        dispatcher.enqueue(notification(2));
+        await(() -> dispatcher.getQueueSize() == 0 && attempts.get() >= 3);
+        dispatcher.stop();
+
+        List<FileSpool.Entry<Notification>> spooled = spool.take(10);
+        assertEquals(2, spooled.size());
+        assertEquals(new FileSpool.Entry<>(notification(1), 1), spooled.get(0));
+        assertTrue(sent.isEmpty());
+        spool.append(spooled);
+
+        healthy.set(true);
+        dispatcher = start(flaky, 10, spool);
+
+        await(() -> delivered() == 2);
+        assertTrue(spool.take(10).isEmpty());
+    }
+
+    @Test
+    void deadLettersNotificationsThatKeepFailing() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        NotificationSpool spool = spool(2);
+        spool.append(List.of(new FileSpool.Entry<>(notification(1), 1)));
+        dispatcher = start(batch -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("sink unavailable");
+        }, 10, spool);
+
+        await(() -> attempts.get() >= 3);
+        dispatcher.stop();
+
+        assertTrue(spool.take(10).isEmpty());
+        List<String> deadLetters = Files.readAllLines(spoolDir.resolve("dead-letter.ndjson"));
+        assertEquals(1, deadLetters.size());
+        assertTrue(deadLetters.get(0).contains("\"attempts\":2"));
+    }
+
+    @Test
+    void replaysTheSpoolInChunksUpToTheQueueCapacity() throws Exception {
+        NotificationSpool spool = spool();
+        Files.writeString(spoolDir.resolve("spool.ndjson"), "not json\n");
+        for (long id = 0; id < 25; id++) {
+            spool.append(List.of(FileSpool.Entry.of(notification(id))));
+        }
+        dispatcher = new NotificationDispatcher(sent::add, spool, 10, 10, 10, 3, 1, 1, 4);
+
+        dispatcher.replaySpool();
+
+        assertEquals(10, dispatcher.getQueueSize());
+        assertEquals(15, spool.take(100).size());
+        assertEquals(List.of("not json"), Files.readAllLines(spoolDir.resolve("dead-letter.ndjson")));
+    }
+
+    @Test
+    void spoolsWhenNotRunning() {
+        NotificationSpool spool = spool();
+        dispatcher = new NotificationDispatcher(sent::add, spool, 10, 10, 10, 3, 1, 1, 100);
+
+        assertFalse(dispatcher.enqueue(notification(1)));
+        assertEquals(1, spool.take(10).size());
+    }
+
+    private NotificationDispatcher start(NotificationSink sink, int batchSize) {
+        return start(sink, batchSize, spool());
+    }
+
+    private NotificationDispatcher start(NotificationSink sink, int batchSize, NotificationSpool spool) {
+        NotificationDispatcher started = new NotificationDispatcher(sink, spool, 1000, batchSize, 20, 3, 1, 10, 100);
+        started.start();
+        return started;
+    }
+
+    private NotificationSpool spool() {
+        return spool(3);
+    }
+
+    private NotificationSpool spool(int maxAttempts) {
+        return new NotificationSpool(new ObjectMapper().findAndRegisterModules(), spoolDir.resolve("spool.ndjson"),
+                spoolDir.resolve("dead-letter.ndjson"), maxAttempts);
+    }
+
+    private int delivered() {
+        return sent.stream().mapToInt(List::size).sum();
+    }
+
+    private static Notification notification(long bookingId) {
+        return new Notification("BOOKING_CREATED", bookingId, "guest", "Booking created - ID: " + bookingId,
+                Instant.ofEpochSecond(1_700_000_000L + bookingId));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new AssertionError("Condition not met within 5s");
+            }
+            Thread.sleep(10);
+        }
+    }
+}
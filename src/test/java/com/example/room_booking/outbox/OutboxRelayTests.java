@@ -0,0 +1,125 @@
+package com.example.room_booking.outbox;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.service.BookingService;
+import com.example.room_booking.service.RoomService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.example.room_booking.support.TestFixtures.newRoom;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// a database of its own, so that the relays of other cached test contexts cannot drain it
+@SpringBootTest(properties = {
+        NO_OUTBOX_RELAY,
+        "spring.datasource.url=jdbc:h2:mem:outboxTests;DATABASE_TO_UPPER=false"
+})
+class OutboxRelayTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @BeforeEach
+    void setUp() {
+        sink.failing.set(false);
+        while (outboxRelay.relayBatch() > 0) {
+            // publish whatever earlier tests left behind
+        }
+        sink.published.clear();
+    }
+
+    @Test
+    void publishesCommittedBookingChangesOnce() {
+        BookingResponse booking = book(newRoom(roomService).id());
+        bookingService.cancel(booking.id());
+
+        assertEquals(2, outboxRelay.relayBatch());
+        assertEquals(0, outboxRelay.relayBatch());
+
+        List<OutboxMessage> messages = sink.published;
+        assertEquals(List.of("BookingCreated", "BookingCancelled"),
+                messages.stream().map(OutboxMessage::eventType).toList());
+        assertTrue(messages.stream().allMatch(message -> message.aggregateId().equals(booking.id())));
+        assertTrue(messages.get(0).payload().contains("\"roomNumber\""));
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void rolledBackBookingLeavesNoEvent() {
+        Long roomId = newRoom(roomService).id();
+        book(roomId);
+        outboxRelay.relayBatch();
+        sink.published.clear();
+
+        assertThrows(ResponseStatusException.class, () -> book(roomId));
+
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    void keepsEventsWhenTheSinkFails() {
+        book(newRoom(roomService).id());
+        sink.failing.set(true);
+
+        assertThrows(IllegalStateException.class, () -> outboxRelay.relayBatch());
+        assertEquals(1, outboxEventRepository.count());
+
+        sink.failing.set(false);
+        assertEquals(1, outboxRelay.relayBatch());
+        assertEquals(1, sink.published.size());
+    }
+
+    private BookingResponse book(Long roomId) {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        return bookingService.create(new BookingRequest(roomId, checkIn, checkIn.plusDays(2)));
+    }
+
+    static class RecordingSink implements OutboxSink {
+        final List<OutboxMessage> published = new CopyOnWriteArrayList<>();
+        final AtomicBoolean failing = new AtomicBoolean();
+
+        @Override
+        public void publish(List<OutboxMessage> messages) {
+            if (failing.get()) {
+                throw new IllegalStateException("broker unavailable");
+            }
+            published.addAll(messages);
+        }
+    }
+
+    @TestConfiguration
+    static class SinkConfiguration {
+        @Bean
+        @Primary
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.room_booking.postgres;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.model.Booking;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.service.BookingService;
+import com.example.room_booking.service.RoomService;
+import com.example.room_booking.support.MigrationChecks;
+import com.example.room_booking.support.QueryPlanChecks;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.envers.AuditReaderFactory;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.room_booking.support.TestFixtures.newRoom;
+import static com.example.room_booking.support.TestProperties.CAPTURE_STATEMENTS;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the application with the {@code postgres} profile against an embedded PostgreSQL,
+ * started from the binaries in the embedded-postgres artifacts, so no network or Docker is
+ * needed. Flyway migrates the empty database and Hibernate validates the result, Envers
+ * tables included. Run with {@code ./mvnw -Ppostgres-it test}; PostgreSQL refuses to start
+ * as root.
+ */
+@Tag("postgres")
+@ActiveProfiles("postgres")
+@SpringBootTest(properties = {
+        CAPTURE_STATEMENTS,
+        NO_OUTBOX_RELAY,
+        "audit.mode=sync"
+})
+class PostgresIntegrationTests {
+    private static final EmbeddedPostgres postgres = start();
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(3);
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("DB_PORT", postgres::getPort);
+        registry.add("DB_NAME", () -> "postgres");
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    postgres.close();
+                } catch (IOException ignored) {
+                }
+            }));
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    void migrationsBuildTheSchemaHibernateExpects() {
+        // the context would not have started if ddl-auto=validate had found a mismatch
+        assertEquals("4", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    void sameStayRequestedAtOnceIsBookedOnce() throws Exception {
+        Long roomId = newRoom(roomService).id();
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger booked = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        bookingService.create(new BookingRequest(roomId, CHECK_IN, CHECK_OUT));
+                        booked.incrementAndGet();
+                    } catch (ResponseStatusException e) {
+                        if (e.getStatusCode().is5xxServerError()) {
+                            throw e;
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+            assertEquals(1, booked.get());
+            assertEquals(3, jdbcTemplate.queryForObject(
+                    "select count(*) from room_night where room_id = ?", Integer.class, roomId));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void revisionsAreNumberedFromTheSequence() {
+        Long roomId = newRoom(roomService).id();
+        BookingResponse booking = bookingService.create(new BookingRequest(roomId, CHECK_IN, CHECK_OUT));
+        bookingService.cancel(booking.id());
+
+        try (EntityManager entityManager = entityManagerFactory.createEntityManager()) {
+            assertEquals(2, AuditReaderFactory.get(entityManager).getRevisions(Booking.class, booking.id()).size());
+        }
+    }
+
+    /**
+     * The {@link QueryPlanChecks} on PostgreSQL. The test tables are nearly empty, where a
+     * sequential scan is always cheapest, so sequential scans are disabled for the explain:
+     * the plan then shows whether an index can serve the query at all.
+     */
+    @Nested
+    class QueryPlans extends QueryPlanChecks {
+
+        @Override
+        protected String explain(String sql, Object... parameters) {
+            return transactionTemplate.execute(status -> {
+                jdbcTemplate.execute("set local enable_seqscan = off");
+                return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, parameters));
+            });
+        }
+
+        @Override
+        protected String tableScan() {
+            return "seq scan";
+        }
+
+        @Override
+        protected String primaryKey(String table) {
+            return table + "_pkey";
+        }
+
+        /**
+         * PostgreSQL prints the bound values, so only the leading term is matched.
+         */
+        @Override
+        protected String indexCondition(String... terms) {
+            return "index cond: ((" + terms[0] + " ";
+        }
+
+        @Override
+        protected String tokenUserIndex() {
+            return "idx_token_user";
+        }
+
+        @Override
+        protected Object timestamp(Instant instant) {
+            return instant.atOffset(ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * The {@link MigrationChecks} on PostgreSQL, each in a database of its own next to the
+     * one the application uses.
+     */
+    @Nested
+    class Migrations extends MigrationChecks {
+
+        @Override
+        protected DataSource emptyDatabase() {
+            String name = "migrations_" + System.nanoTime();
+            jdbcTemplate.execute("create database " + name);
+            return postgres.getDatabase("postgres", name);
+        }
+    }
+}
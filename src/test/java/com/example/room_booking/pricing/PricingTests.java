@@ -0,0 +1,93 @@
+package com.example.room_booking.pricing;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.repository.BookingRepository;
+import com.example.room_booking.service.BookingService;
+import com.example.room_booking.service.RoomService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+import static com.example.room_booking.support.TestFixtures.newRoom;
+import static com.example.room_booking.support.TestProperties.NO_AUDIT;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        NO_OUTBOX_RELAY,
+        NO_AUDIT
+})
+@AutoConfigureMockMvc
+class PricingTests {
+    private static final LocalDate MONDAY = LocalDate.now().plusWeeks(2).with(DayOfWeek.MONDAY);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PricingService pricingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Test
+    void laterPlansOverrideEarlierOnesAndWeekendsHaveTheirOwnPrice() throws Exception {
+        Long roomId = newRoom(roomService).id();
+        pricingService.addPlan(roomId, plan("season", MONDAY, MONDAY.plusDays(7), "120.00", "150.00"));
+        pricingService.addPlan(roomId, plan("event", MONDAY.plusDays(2), MONDAY.plusDays(4), "200.00", null));
+
+        // Mon 120, Tue 120, Wed 200, Thu 200, Fri 150, Sat 150, Sun 120, then the base price of 100
+        mockMvc.perform(get("/rooms/{id}/quote", roomId)
+                        .param("checkIn", MONDAY.toString())
+                        .param("checkOut", MONDAY.plusDays(8).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nights").value(8))
+                .andExpect(jsonPath("$.totalPrice").value(1160.00));
+    }
+
+    @Test
+    void nightsBeyondTheTableArePricedTheSame() {
+        Long roomId = newRoom(roomService).id();
+        LocalDate start = LocalDate.now().plusDays(360);
+        pricingService.addPlan(roomId, plan("late", start, start.plusDays(20), "110.00", null));
+
+        QuoteResponse quote = pricingService.quote(roomId, start.plusDays(2), start.plusDays(10));
+
+        assertEquals(new BigDecimal("880.00"), quote.totalPrice());
+    }
+
+    @Test
+    void bookingKeepsThePriceItWasBookedAt() {
+        Long roomId = newRoom(roomService).id();
+        RatePlanResponse plan = pricingService.addPlan(roomId,
+                plan("season", MONDAY, MONDAY.plusDays(7), "120.00", null));
+
+        BookingResponse booking = bookingService.create(new BookingRequest(roomId, MONDAY, MONDAY.plusDays(3)));
+        pricingService.deletePlan(roomId, plan.id());
+
+        assertEquals(new BigDecimal("360.00"), booking.totalPrice());
+        assertEquals(new BigDecimal("360.00"), bookingRepository.findById(booking.id()).orElseThrow().getTotalPrice());
+        assertEquals(new BigDecimal("300.00"), pricingService.quote(roomId, MONDAY, MONDAY.plusDays(3)).totalPrice());
+    }
+
+    private static RatePlanRequest plan(String name, LocalDate start, LocalDate end, String nightly, String weekend) {
+        return new RatePlanRequest(name, start, end, new BigDecimal(nightly),
+                weekend == null ? null : new BigDecimal(weekend));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.room_booking.repository;
+
+import com.example.room_booking.support.QueryPlanChecks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.example.room_booking.support.TestProperties.CAPTURE_STATEMENTS;
+import static com.example.room_booking.support.TestProperties.NO_AUDIT;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+
+/**
+ * Runs the {@link QueryPlanChecks} against H2.
+ */
+@SpringBootTest(properties = {CAPTURE_STATEMENTS, NO_OUTBOX_RELAY, NO_AUDIT})
+class QueryPlanTests extends QueryPlanChecks {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected String explain(String sql, Object... parameters) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+    }
+
+    @Override
+    protected String tableScan() {
+        return "tablescan";
+    }
+
+    @Override
+    protected String primaryKey(String table) {
+        return "primary_key";
+    }
+
+    /**
+     * H2 shows the whole condition after the index name, e.g.
+     * {@code : room_id = ?1 and night >= ?2}.
+     */
+    @Override
+    protected String indexCondition(String... terms) {
+        return IntStream.range(0, terms.length)
+                .mapToObj(i -> terms[i] + " ?" + (i + 1))
+                .collect(Collectors.joining(" and ", ": ", ""));
+    }
+
+    /**
+     * H2 may pick its own foreign-key index on user_id, which is just as good.
+     */
+    @Override
+    protected String tokenUserIndex() {
+        return ": user_id = ?1";
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.room_booking.service;
+
+import com.example.room_booking.model.BookingRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+import static com.example.room_booking.support.TestFixtures.newRoom;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers {@link BookingService#create} from many threads and checks the outcome in the
+ * database: no two active bookings of a room may overlap, whatever the interleaving.
+ */
+@SpringBootTest
+class BookingConcurrencyTests {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void sameStayRequestedAtOnceIsBookedOnce() throws Exception {
+        Long roomId = newRoom(roomService).id();
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+
+        int booked = race(THREADS, i -> new BookingRequest(roomId, checkIn, checkIn.plusDays(3)));
+
+        assertEquals(1, booked);
+        assertEquals(0, overlappingBookings(roomId));
+    }
+
+    @Test
+    void disjointStaysOfOneRoomAreAllBooked() throws Exception {
+        Long roomId = newRoom(roomService).id();
+        LocalDate first = LocalDate.now().plusDays(1);
+
+        int booked = race(28, i -> new BookingRequest(roomId, first.plusDays(i), first.plusDays(i + 1)));
+
+        assertEquals(28, booked);
+        assertEquals(28, claimedNights(roomId));
+    }
+
+    @Test
+    void randomOverlappingStaysNeverDoubleBook() throws Exception {
+        List<Long> roomIds = Stream.generate(() -> newRoom(roomService).id()).limit(3).toList();
+        LocalDate first = LocalDate.now().plusDays(1);
+
+        int booked = race(THREADS * 50, i -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            LocalDate checkIn = first.plusDays(random.nextInt(25));
+            return new BookingRequest(roomIds.get(random.nextInt(roomIds.size())), checkIn,
+                    checkIn.plusDays(1 + random.nextInt(4)));
+        });
+
+        int active = 0;
+        for (Long roomId : roomIds) {
+            assertEquals(0, overlappingBookings(roomId));
+            assertEquals(activeNights(roomId), claimedNights(roomId));
+            active += activeBookings(roomId);
+        }
+        assertEquals(booked, active);
+    }
+
+    /**
+     * Submits {@code attempts} creates, released together, and returns how many succeeded.
+     * Rejections are expected; any other failure fails the test.
+     */
+    private int race(int attempts, IntFunction<BookingRequest> requests) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(attempts);
+        for (int i = 0; i < attempts; i++) {
+            BookingRequest request = requests.apply(i);
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookingService.create(request);
+                    booked.incrementAndGet();
+                } catch (ResponseStatusException e) {
+                    if (e.getStatusCode().is5xxServerError()) {
+                        throw e;
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        return booked.get();
+    }
+
+    private int overlappingBookings(Long roomId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from booking a join booking b on a.room_id = b.room_id and a.id < b.id " +
+                        "where a.room_id = ? and a.status <> 'CANCELLED' and b.status <> 'CANCELLED' " +
+                        "and a.check_in_date < b.check_out_date and b.check_in_date < a.check_out_date",
+                Integer.class, roomId);
+    }
+
+    private int activeBookings(Long roomId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from booking where room_id = ? and status <> 'CANCELLED'", Integer.class, roomId);
+    }
+
+    private int activeNights(Long roomId) {
+        return jdbcTemplate.queryForObject(
+                "select coalesce(sum(datediff('DAY', check_in_date, check_out_date)), 0) from booking " +
+                        "where room_id = ? and status <> 'CANCELLED'", Integer.class, roomId);
+    }
+
+    private int claimedNights(Long roomId) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from room_night where room_id = ?", Integer.class, roomId);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.room_booking.service;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.model.BookingStatus;
+import com.example.room_booking.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static com.example.room_booking.support.TestFixtures.newRoom;
+import static com.example.room_booking.support.TestProperties.NO_AUDIT;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        NO_OUTBOX_RELAY,
+        NO_AUDIT,
+        "booking.hold.sweep.interval-ms=3600000"
+})
+class BookingHoldTests {
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(5);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private HoldExpiryJob holdExpiryJob;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void holdBlocksItsNightsUntilConfirmed() {
+        Long roomId = newRoom(roomService).id();
+        BookingResponse hold = bookingService.hold(new BookingRequest(roomId, CHECK_IN, CHECK_IN.plusDays(3)));
+        assertEquals(BookingStatus.HELD, hold.status());
+        assertNotNull(hold.holdExpiresAt());
+
+        ResponseStatusException conflict = assertThrows(ResponseStatusException.class,
+                () -> bookingService.create(new BookingRequest(roomId, CHECK_IN.plusDays(1), CHECK_IN.plusDays(4))));
+        assertEquals(HttpStatus.BAD_REQUEST, conflict.getStatusCode());
+
+        BookingResponse confirmed = bookingService.confirm(hold.id());
+        assertEquals(BookingStatus.CONFIRMED, confirmed.status());
+        assertNull(confirmed.holdExpiresAt());
+        assertEquals(BookingStatus.CONFIRMED, bookingService.getById(hold.id()).status());
+
+        holdExpiryJob.expire(Instant.now().plus(1, ChronoUnit.DAYS));
+        assertEquals(BookingStatus.CONFIRMED, bookingRepository.findById(hold.id()).orElseThrow().getStatus());
+        assertEquals(3, claimedNights(hold.id()));
+    }
+
+    @Test
+    void expiredHoldsAreCancelledAndTheirNightsReleased() {
+        Long roomId = newRoom(roomService).id();
+        BookingResponse first = bookingService.hold(new BookingRequest(roomId, CHECK_IN, CHECK_IN.plusDays(2)));
+        BookingResponse second = bookingService.hold(new BookingRequest(roomId, CHECK_IN.plusDays(2), CHECK_IN.plusDays(4)));
+
+        assertTrue(holdExpiryJob.expire(Instant.now().plus(1, ChronoUnit.DAYS)) >= 2);
+
+        assertEquals(BookingStatus.CANCELLED, bookingService.getById(first.id()).status());
+        assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(second.id()).orElseThrow().getStatus());
+        assertEquals(0, claimedNights(first.id()) + claimedNights(second.id()));
+
+        ResponseStatusException expired = assertThrows(ResponseStatusException.class,
+                () -> bookingService.confirm(first.id()));
+        assertEquals(HttpStatus.CONFLICT, expired.getStatusCode());
+
+        BookingResponse booking = bookingService.create(new BookingRequest(roomId, CHECK_IN, CHECK_IN.plusDays(4)));
+        assertEquals(BookingStatus.CONFIRMED, booking.status());
+    }
+
+    @Test
+    void cancellingAHoldReleasesItsNightsWithoutAnnouncingIt() {
+        Long roomId = newRoom(roomService).id();
+        BookingResponse hold = bookingService.hold(new BookingRequest(roomId, CHECK_IN, CHECK_IN.plusDays(2)));
+
+        bookingService.cancel(hold.id());
+
+        assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(hold.id()).orElseThrow().getStatus());
+        assertEquals(0, claimedNights(hold.id()));
+        Integer events = jdbcTemplate.queryForObject(
+                "select count(*) from outbox_event where aggregate_id = ?", Integer.class, hold.id());
+        assertEquals(0, events);
+    }
+
+    private int claimedNights(Long bookingId) {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from room_night where booking_id = ?", Integer.class, bookingId);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.room_booking.service;
+
+import com.example.room_booking.auth.AuthenticationService;
+import com.example.room_booking.auth.RegisterRequest;
+import com.example.room_booking.model.RoomRequest;
+import com.example.room_booking.user.Role;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.example.room_booking.support.TestProperties.NO_AUDIT;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        NO_OUTBOX_RELAY,
+        NO_AUDIT
+})
+@AutoConfigureMockMvc
+class BookingMetricsTests {
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(30);
+    private static final List<String> PHASES =
+            List.of("validation", "room_fetch", "conflict_check", "save", "response_mapping");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Test
+    void bookingHotPathIsMetered() throws Exception {
+        String token = authenticationService.register(new RegisterRequest(
+                "user-" + UUID.randomUUID().toString().substring(0, 8), "secret", Role.USER)).getAccessToken();
+        Long roomId = roomService.create(new RoomRequest(
+                "M-" + UUID.randomUUID().toString().substring(0, 8), 2, BigDecimal.valueOf(100))).id();
+        Map<String, Long> phases = new HashMap<>();
+        for (String phase : PHASES) {
+            phases.put(phase, phase(phase).count());
+        }
+        double overlaps = counter("booking.conflicts", "cause", "overlap");
+        double cancellations = counter("booking.cancellations");
+
+        String booking = book(token, roomId).andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        book(token, roomId).andExpect(status().isBadRequest());
+        mockMvc.perform(put("/bookings/cancel/" + JsonPath.<Integer>read(booking, "$.id"))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isAccepted());
+
+        // the rejected request is timed up to the conflict check that turned it down
+        for (String phase : PHASES) {
+            long expected = phase.equals("save") || phase.equals("response_mapping") ? 1 : 2;
+            assertEquals(phases.get(phase) + expected, phase(phase).count(), phase);
+        }
+        assertEquals(overlaps + 1, counter("booking.conflicts", "cause", "overlap"));
+        assertEquals(cancellations + 1, counter("booking.cancellations"));
+        Timer endpoint = meterRegistry.find("http.server.requests")
+                .tag("handler", "BookingController.createBooking").timer();
+        assertNotNull(endpoint);
+    }
+
+    @Test
+    void authenticationFailuresAreCountedByReason() throws Exception {
+        double badCredentials = counter("auth.failures", "reason", "bad_credentials");
+        double invalidTokens = counter("auth.failures", "reason", "invalid_token");
+
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"nobody\",\"password\":\"wrong\"}"));
+        mockMvc.perform(get("/bookings/1").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isForbidden());
+
+        assertEquals(badCredentials + 1, counter("auth.failures", "reason", "bad_credentials"));
+        assertEquals(invalidTokens + 1, counter("auth.failures", "reason", "invalid_token"));
+    }
+
+    private ResultActions book(String token, Long roomId) throws Exception {
+        return mockMvc.perform(post("/bookings")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"roomId\":%d,\"checkInDate\":\"%s\",\"checkOutDate\":\"%s\"}"
+                        .formatted(roomId, CHECK_IN, CHECK_IN.plusDays(2))));
+    }
+
+    private Timer phase(String phase) {
+        return meterRegistry.get("booking.create.phase").tag("phase", phase).timer();
+    }
+
+    private double counter(String name, String... tags) {
+        return meterRegistry.get(name).tags(tags).counter().count();
+    }
+}
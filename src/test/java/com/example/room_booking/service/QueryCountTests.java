@@ -0,0 +1,196 @@
+package com.example.room_booking.service;
+
+import com.example.room_booking.dto.BookingResponse;
+import com.example.room_booking.dto.OccupancyResponse;
+import com.example.room_booking.dto.OccupiedNight;
+import com.example.room_booking.dto.RoomCalendarResponse;
+import com.example.room_booking.dto.RoomResponse;
+import com.example.room_booking.dto.BatchBookingResponse;
+import com.example.room_booking.model.BatchBookingRequest;
+import com.example.room_booking.model.BatchMode;
+import com.example.room_booking.model.BookingRequest;
+import com.example.room_booking.model.RoomSort;
+import com.example.room_booking.repository.BookingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.room_booking.support.TestFixtures.newRoom;
+import static com.example.room_booking.support.TestProperties.NO_AUDIT;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pins the number of SQL statements issued by the booking hot paths, so that an eager
+ * association or a lost entity graph shows up as a failing test rather than as latency.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        NO_OUTBOX_RELAY,
+        NO_AUDIT
+})
+class QueryCountTests {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void getByIdLoadsBookingAndRoomInOneStatement() {
+        BookingResponse booking = auditedBooking();
+
+        statistics.clear();
+        bookingService.getById(booking.id());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        // the booking and its room, but neither audit user
+        assertEquals(2, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void plainLoadLeavesRoomAndAuditUsersUnloaded() {
+        BookingResponse booking = auditedBooking();
+
+        statistics.clear();
+        bookingRepository.findById(booking.id());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void createDoesNotLoadAuditUsers() {
+        RoomResponse room = newRoom(roomService);
+        // allocates the blocks of booking and outbox ids, so the measured inserts need no sequence call
+        book(newRoom(roomService));
+
+        statistics.clear();
+        book(room);
+
+        // select room, insert booking, insert its room-night claims as one batch, insert outbox event
+        assertEquals(4, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void batchBookingUsesAConstantNumberOfStatements() {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        List<BookingRequest> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(new BookingRequest(newRoom(roomService).id(), checkIn, checkIn.plusDays(2)));
+        }
+
+        statistics.clear();
+        BatchBookingResponse response = bookingService.createBatch(new BatchBookingRequest(items, BatchMode.ATOMIC));
+
+        assertEquals(20, response.booked());
+        // 20 bookings, their 40 room-night claims and 20 outbox events
+        assertEquals(80, statistics.getEntityInsertCount());
+        // select rooms, select overlapping stays, at most one booking and one outbox id block,
+        // and one batched insert each of bookings, claims and outbox events
+        assertTrue(statistics.getPrepareStatementCount() <= 7,
+                () -> statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void listingAvailableRoomsIsASingleProjection() {
+        newRoom(roomService);
+
+        statistics.clear();
+        roomService.getAllAvailable(RoomSort.ID, null, 50);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void roomCalendarIsALookupAndOneRangeScan() {
+        RoomResponse room = newRoom(roomService);
+        BookingResponse booking = book(room);
+        LocalDate today = LocalDate.now();
+
+        statistics.clear();
+        RoomCalendarResponse calendar = roomService.getCalendar(room.id(), today, today.plusDays(7));
+
+        // select room, range scan of its room-night claims
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(List.of(
+                        new OccupiedNight(today.plusDays(1), booking.id()),
+                        new OccupiedNight(today.plusDays(2), booking.id())),
+                calendar.occupied());
+        assertEquals(0.2857, calendar.occupancyRate());
+
+        bookingService.cancel(booking.id());
+        assertEquals(0, roomService.getCalendar(room.id(), today, today.plusDays(7)).occupiedNights());
+    }
+
+    @Test
+    void occupancyIsACountAndOneRangeScan() {
+        RoomResponse room = newRoom(roomService);
+        LocalDate from = LocalDate.now().plusDays(1);
+        OccupancyResponse before = roomService.getOccupancy(from, from.plusDays(30));
+        book(room);
+
+        statistics.clear();
+        OccupancyResponse after = roomService.getOccupancy(from, from.plusDays(30));
+
+        // count rooms, grouped range scan of the night index
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(30, after.nights().size());
+        assertEquals(before.nights().get(0).occupiedRooms() + 1, after.nights().get(0).occupiedRooms());
+        assertEquals(before.nights().get(2).occupiedRooms(), after.nights().get(2).occupiedRooms());
+        assertEquals(before.occupiedRoomNights() + 2, after.occupiedRoomNights());
+    }
+
+    private BookingResponse auditedBooking() {
+        BookingResponse booking = book(newRoom(roomService));
+        cacheManager.getCache("bookings").clear();
+        Long userId = newUser();
+        jdbcTemplate.update("update booking set creator_id = ?, last_modifier_id = ? where id = ?",
+                userId, userId, booking.id());
+        return booking;
+    }
+
+    private Long newUser() {
+        String username = "q-" + UUID.randomUUID();
+        jdbcTemplate.update("insert into _user (username, password, role) values (?, 'x', 'USER')", username);
+        return jdbcTemplate.queryForObject("select id from _user where username = ?", Long.class, username);
+    }
+
+    private BookingResponse book(RoomResponse room) {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        return bookingService.create(new BookingRequest(room.id(), checkIn, checkIn.plusDays(2)));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.room_booking.service;
+
+import com.example.room_booking.dto.RoomImportError;
+import com.example.room_booking.dto.RoomImportResponse;
+import com.example.room_booking.model.RoomImportFormat;
+import com.example.room_booking.model.RoomRequest;
+import com.example.room_booking.repository.RoomRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.example.room_booking.support.TestProperties.NO_AUDIT;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = {
+        NO_OUTBOX_RELAY,
+        NO_AUDIT,
+        "room.import.chunk-size=2"
+})
+class RoomImportTests {
+
+    @Autowired
+    private RoomImportService roomImportService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Test
+    void csvRowsAreImportedAcrossChunksAndBadRowsReported() {
+        String prefix = prefix();
+        roomService.create(new RoomRequest(prefix + "1", 2, new BigDecimal("80.00")));
+        String csv = """
+                roomNumber,capacity,price
+                %1$s1,2,90.00
+                %1$s2,3,120.50
+                %1$s2,3,120.50
+                %1$s3,two,100.00
+
+                %1$s4,4,150.00
+                %1$s5,1
+                """.formatted(prefix);
+
+        RoomImportResponse response = roomImportService.importRooms(stream(csv), RoomImportFormat.CSV);
+
+        assertEquals(6, response.rows());
+        assertEquals(2, response.imported());
+        assertEquals(4, response.rejected());
+        assertEquals(List.of(
+                        new RoomImportError(2, prefix + "1", "Room number already exists"),
+                        new RoomImportError(4, prefix + "2", "Room number already exists"),
+                        new RoomImportError(5, null, "Capacity must be a whole number"),
+                        new RoomImportError(8, null, "Expected roomNumber,capacity,price")),
+                response.errors().stream().sorted((a, b) -> Long.compare(a.line(), b.line())).toList());
+        assertEquals(Set.of(prefix + "1", prefix + "2", prefix + "4"),
+                roomRepository.findExistingRoomNumbers(List.of(prefix + "1", prefix + "2", prefix + "3", prefix + "4")));
+    }
+
+    @Test
+    void quotedCsvFieldsKeepTheirCommas() {
+        String prefix = prefix();
+        String csv = """
+                "roomNumber","capacity","price"
+                "%1$s1",2,"90.00"
+                "%1$s2,B",3,120.50
+                "%1$s3,2,100.00
+                """.formatted(prefix);
+
+        RoomImportResponse response = roomImportService.importRooms(stream(csv), RoomImportFormat.CSV);
+
+        assertEquals(3, response.rows());
+        assertEquals(1, response.imported());
+        assertEquals(List.of(
+                        new RoomImportError(3, prefix + "2,B",
+                                "Room number can only contain alphanumeric characters and hyphens"),
+                        new RoomImportError(4, null, "Unterminated quoted field")),
+                response.errors());
+        assertEquals(Set.of(prefix + "1"), roomRepository.findExistingRoomNumbers(List.of(prefix + "1", prefix + "2")));
+    }
+
+    @Test
+    void jsonLinesAreValidatedLikeSingleRooms() {
+        String prefix = prefix();
+        String body = """
+                {"roomNumber": "%1$s1", "capacity": 2, "price": 99.90}
+                {"roomNumber": "%1$s2", "capacity": 2, "price": 0}
+                {"roomNumber": "%1$s3", "capacity": 2
+                """.formatted(prefix);
+
+        RoomImportResponse response = roomImportService.importRooms(stream(body), RoomImportFormat.JSON_LINES);
+
+        assertEquals(3, response.rows());
+        assertEquals(1, response.imported());
+        assertEquals(List.of(
+                        new RoomImportError(2, prefix + "2", "Price must be at least 0.01"),
+                        new RoomImportError(3, null, "Malformed JSON")),
+                response.errors());
+        assertEquals(new BigDecimal("99.90"),
+                roomRepository.findAll().stream()
+                        .filter(room -> room.getRoomNumber().equals(prefix + "1"))
+                        .findFirst().orElseThrow().getPrice());
+    }
+
+    private static String prefix() {
+        return "I" + UUID.randomUUID().toString().substring(0, 8) + "-";
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.room_booking.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares, enabled with {@link TestProperties#CAPTURE_STATEMENTS}.
+ * Statements are kept per thread, so the scheduled jobs of this and other cached contexts
+ * do not mix their statements into those of a test.
+ */
+public class CapturingInspector implements StatementInspector {
+    private static final ThreadLocal<List<String>> statements = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * The statements prepared on the calling thread since the last {@link #clear()}.
+     */
+    public static List<String> statements() {
+        return statements.get();
+    }
+
+    public static void clear() {
+        statements.get().clear();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statements.get().add(sql);
+        return sql;
+    }
+}
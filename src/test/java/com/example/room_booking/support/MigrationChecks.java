@@ -0,0 +1,62 @@
+package com.example.room_booking.support;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Migrates an empty database to the baseline, stores data the way the application did
+ * then, and checks what the later migrations make of it. Each database extends this with
+ * a way to create an empty database.
+ */
+public abstract class MigrationChecks {
+    private static final LocalDate CHECK_IN = LocalDate.of(2025, 3, 10);
+
+    /**
+     * Returns a new database without any tables.
+     */
+    protected abstract DataSource emptyDatabase();
+
+    @Test
+    void existingBookingsArePricedAtTheRoomRate() {
+        DataSource dataSource = emptyDatabase();
+        migrate(dataSource, "1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("insert into rooms (id, room_number, capacity, price, is_available) values (1, '101', 2, 80.00, true)");
+        jdbcTemplate.update("insert into rooms (id, room_number, capacity, price, is_available) values (2, '102', 2, 99.99, true)");
+        // the stay crosses the end of a month, where a difference of day numbers would be wrong
+        insertBooking(jdbcTemplate, 1, 1, LocalDate.of(2025, 3, 30), LocalDate.of(2025, 4, 2));
+        insertBooking(jdbcTemplate, 2, 2, CHECK_IN, CHECK_IN.plusDays(1));
+        insertBooking(jdbcTemplate, 3, 2, CHECK_IN, CHECK_IN.plusDays(14));
+
+        migrate(dataSource, "latest");
+
+        assertEquals(new BigDecimal("240.00"), totalPrice(jdbcTemplate, 1));
+        assertEquals(new BigDecimal("99.99"), totalPrice(jdbcTemplate, 2));
+        assertEquals(new BigDecimal("1399.86"), totalPrice(jdbcTemplate, 3));
+    }
+
+    private static void migrate(DataSource dataSource, String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:com/example/room_booking/db/migration")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private static void insertBooking(JdbcTemplate jdbcTemplate, long id, long roomId, LocalDate checkIn, LocalDate checkOut) {
+        jdbcTemplate.update("insert into booking (id, customer_name, check_in_date, check_out_date, status, room_id) " +
+                "values (?, 'guest', ?, ?, 'CONFIRMED', ?)", id, checkIn, checkOut, roomId);
+    }
+
+    private static BigDecimal totalPrice(JdbcTemplate jdbcTemplate, long bookingId) {
+        return jdbcTemplate.queryForObject("select total_price from booking where id = ?", BigDecimal.class, bookingId);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.room_booking.support;
+
+import com.example.room_booking.outbox.OutboxEventRepository;
+import com.example.room_booking.repository.BookingRepository;
+import com.example.room_booking.repository.RoomNightRepository;
+import com.example.room_booking.token.TokenRepository;
+import com.example.room_booking.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Explains the SQL that Hibernate generates for the lookups on the booking and
+ * authentication paths, and fails if the database would scan a table instead of using the
+ * index meant for the query. Each database extends this with its {@code EXPLAIN}, its
+ * index names and the way its plans show an index condition; the context must capture
+ * statements with {@link TestProperties#CAPTURE_STATEMENTS}.
+ */
+public abstract class QueryPlanChecks {
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+    private static final LocalDate CHECK_OUT = CHECK_IN.plusDays(3);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomNightRepository roomNightRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Returns the plan of {@code sql} bound to {@code parameters}.
+     */
+    protected abstract String explain(String sql, Object... parameters);
+
+    /**
+     * What the plan says when it reads a whole table, in lower case.
+     */
+    protected abstract String tableScan();
+
+    protected abstract String primaryKey(String table);
+
+    /**
+     * How the plan shows an index condition made of {@code terms}, each a column and an
+     * operator compared with the next bound parameter, in lower case.
+     */
+    protected abstract String indexCondition(String... terms);
+
+    /**
+     * The index, or index condition, that the plan of a revocation by user shows.
+     */
+    protected abstract String tokenUserIndex();
+
+    /**
+     * Binds an instant as the driver expects a {@code timestamp with time zone}.
+     */
+    protected Object timestamp(Instant instant) {
+        return instant;
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        CapturingInspector.clear();
+    }
+
+    @Test
+    void conflictCheckUsesTheRoomStayIndex() {
+        bookingRepository.existsConflictingBooking(1L, CHECK_IN, CHECK_OUT);
+        assertPlanUses("idx_booking_room_stay", 1L, CHECK_IN, CHECK_OUT);
+    }
+
+    @Test
+    void batchOverlapCheckUsesTheRoomStayIndex() {
+        bookingRepository.findActiveStaysOverlapping(List.of(1L, 2L), CHECK_IN, CHECK_OUT);
+        assertPlanUses("idx_booking_room_stay", 1L, 2L, CHECK_IN, CHECK_OUT);
+    }
+
+    @Test
+    void availabilityWarmUpUsesTheCheckOutIndex() {
+        bookingRepository.findActiveStaysEndingAfter(LocalDate.now());
+        assertPlanUses("idx_booking_check_out", LocalDate.now());
+    }
+
+    @Test
+    void roomCalendarUsesThePrimaryKey() {
+        roomNightRepository.findOccupiedNights(1L, CHECK_IN, CHECK_OUT);
+        // the room is the leading key column, not a filter over every room's nights
+        assertIndexCondition(primaryKey("room_night"), indexCondition("room_id =", "night >="),
+                1L, CHECK_IN, CHECK_OUT);
+    }
+
+    @Test
+    void hotelOccupancyUsesTheNightIndex() {
+        roomNightRepository.countOccupiedRoomsPerNight(CHECK_IN, CHECK_OUT);
+        assertIndexCondition("idx_room_night_night", indexCondition("night >="), CHECK_IN, CHECK_OUT);
+    }
+
+    @Test
+    void userLookupUsesTheUniqueUsernameIndex() {
+        userRepository.findByUsername("nobody");
+        assertPlanUses("uk_user_username", "nobody");
+    }
+
+    @Test
+    void tokenLookupUsesTheUniqueTokenIndex() {
+        tokenRepository.findByToken("none");
+        assertPlanUses("uk_token_token", "none");
+    }
+
+    @Test
+    void tokenRevocationUsesAUserIndex() {
+        tokenRepository.revokeAllByUser(1L);
+        assertPlanUses(tokenUserIndex(), 1L);
+    }
+
+    @Test
+    void tokenPurgeUsesTheExpiryIndex() {
+        tokenRepository.findIdsExpiredBefore(Instant.now(), Limit.of(10));
+        assertPlanUses("idx_token_expires_at", timestamp(Instant.now()), 10);
+    }
+
+    @Test
+    void oldestOutboxEventIsReadFromThePrimaryKey() {
+        outboxEventRepository.findFirstByOrderByIdAsc();
+        assertPlanUses(primaryKey("outbox_event"), 1);
+    }
+
+    /**
+     * Explains the last statement Hibernate prepared, bound to {@code parameters}, and
+     * checks that the plan mentions {@code index} (an index name or index condition).
+     */
+    private String assertPlanUses(String index, Object... parameters) {
+        List<String> statements = CapturingInspector.statements();
+        assertFalse(statements.isEmpty(), "No statement was captured");
+        String plan = explain(statements.get(statements.size() - 1), parameters);
+        String normalized = plan.toLowerCase(Locale.ROOT);
+        assertFalse(normalized.contains(tableScan()), () -> "Table scan:\n" + plan);
+        assertTrue(normalized.contains(index), () -> "Expected " + index + " in:\n" + plan);
+        return normalized;
+    }
+
+    /**
+     * Like {@link #assertPlanUses}, and also checks that the plan shows {@code condition}
+     * as the index condition, so that the index is searched rather than scanned.
+     */
+    private void assertIndexCondition(String index, String condition, Object... parameters) {
+        String plan = assertPlanUses(index, parameters);
+        assertTrue(plan.contains(condition), () -> "Expected index condition " + condition + " in:\n" + plan);
+    }
+}
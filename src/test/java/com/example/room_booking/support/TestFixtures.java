@@ -0,0 +1,29 @@
+package com.example.room_booking.support;
+
+import com.example.room_booking.dto.RoomResponse;
+import com.example.room_booking.model.RoomRequest;
+import com.example.room_booking.service.RoomService;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Data the tests set up through the services.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    /**
+     * Creates an available room for two at 100.00 a night, with a unique room number.
+     */
+    public static RoomResponse newRoom(RoomService roomService) {
+        return newRoom(roomService, 2);
+    }
+
+    public static RoomResponse newRoom(RoomService roomService, int capacity) {
+        String roomNumber = "T-" + UUID.randomUUID().toString().substring(0, 8);
+        return roomService.create(new RoomRequest(roomNumber, capacity, new BigDecimal("100.00")));
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.room_booking.support;
+
+/**
+ * Properties the tests pass to {@code @SpringBootTest}, as constants so that the contexts
+ * built from the same set are cached and shared.
+ */
+public final class TestProperties {
+    /**
+     * Stops the outbox relay from polling, so outbox events stay in the table.
+     */
+    public static final String NO_OUTBOX_RELAY = "outbox.relay.enabled=false";
+
+    public static final String NO_AUDIT = "audit.mode=off";
+
+    /**
+     * Records the SQL Hibernate prepares in {@link CapturingInspector}.
+     */
+    public static final String CAPTURE_STATEMENTS = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.example.room_booking.support.CapturingInspector";
+
+    private TestProperties() {
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.room_booking.token;
+
+import com.example.room_booking.auth.AuthenticationRequest;
+import com.example.room_booking.auth.AuthenticationResponse;
+import com.example.room_booking.auth.AuthenticationService;
+import com.example.room_booking.auth.RegisterRequest;
+import com.example.room_booking.config.JwtService;
+import com.example.room_booking.config.TokenClaims;
+import com.example.room_booking.user.Role;
+import com.example.room_booking.user.User;
+import com.example.room_booking.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = NO_OUTBOX_RELAY)
+class TokenRevocationTests {
+    private static final String PASSWORD = "secret";
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TokenRevocations tokenRevocations;
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenPurgeJob tokenPurgeJob;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void loginRevokesEarlierTokensInBulkAndInMemory() throws InterruptedException {
+        String username = register();
+        String first = login(username);
+        // token issue times have one-second resolution
+        Thread.sleep(1000);
+        String second = login(username);
+        String third = login(username);
+
+        assertNotEquals(second, third);
+        assertTrue(tokenRevocations.isRevoked(claims(first)));
+        assertFalse(tokenRevocations.isRevoked(claims(third)));
+
+        User user = userRepository.findByUsername(username).orElseThrow();
+        assertEquals(1, tokenRepository.findAllValidTokenByUser(user.getId()).size());
+        assertTrue(tokenRepository.findByToken(first).orElseThrow().isRevoked());
+
+        // a restarted instance knows the cutoff without anyone logging in again
+        TokenRevocations reloaded = new TokenRevocations(userRepository);
+        reloaded.load();
+        assertTrue(reloaded.isRevoked(claims(first)));
+        assertFalse(reloaded.isRevoked(claims(third)));
+    }
+
+    @Test
+    void revokedRefreshTokenIssuesNothingAndKeepsTheNewSession() throws Exception {
+        String username = register();
+        String staleRefresh = authenticationService.authenticate(new AuthenticationRequest(username, PASSWORD))
+                .getRefreshToken();
+        // token issue times have one-second resolution
+        Thread.sleep(1000);
+        String current = login(username);
+        double revokedBefore = revokedTokenFailures();
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + staleRefresh);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        authenticationService.refreshToken(request, response);
+
+        assertEquals(401, response.getStatus());
+        assertEquals("", response.getContentAsString());
+        assertEquals(revokedBefore + 1, revokedTokenFailures());
+        assertFalse(tokenRevocations.isRevoked(claims(current)));
+        assertFalse(tokenRepository.findByToken(current).orElseThrow().isRevoked());
+    }
+
+    @Test
+    void refreshTokenCanBeUsedAgainAfterARefresh() throws Exception {
+        String username = register();
+        String refresh = authenticationService.authenticate(new AuthenticationRequest(username, PASSWORD))
+                .getRefreshToken();
+        // token issue times have one-second resolution, so the refresh moves the cutoff past the login
+        Thread.sleep(1000);
+
+        AuthenticationResponse first = refresh(refresh);
+        assertNotEquals(refresh, first.getRefreshToken());
+        Thread.sleep(1000);
+        AuthenticationResponse second = refresh(first.getRefreshToken());
+
+        assertFalse(tokenRevocations.isRevoked(claims(second.getAccessToken())));
+        assertFalse(tokenRevocations.isRevoked(claims(second.getRefreshToken())));
+    }
+
+    @Test
+    void bulkRevocationCompletesHalfRevokedTokens() {
+        User user = userRepository.findByUsername(register()).orElseThrow();
+        Token halfRevoked = tokenRepository.save(Token.builder()
+                .user(user)
+                .token(UUID.randomUUID().toString())
+                .tokenType(TokenType.BEARER)
+                .revoked(true)
+                .expiresAt(Instant.now().plus(Duration.ofHours(1)))
+                .build());
+
+        tokenRepository.revokeAllByUser(user.getId());
+
+        Token reloaded = tokenRepository.findById(halfRevoked.getId()).orElseThrow();
+        assertTrue(reloaded.isExpired());
+        assertTrue(reloaded.isRevoked());
+    }
+
+    @Test
+    void purgeDeletesOnlyExpiredTokens() {
+        Token expired = tokenRepository.save(token(Instant.now().minus(Duration.ofHours(1))));
+        Token current = tokenRepository.save(token(Instant.now().plus(Duration.ofHours(1))));
+
+        assertTrue(tokenPurgeJob.purge(Instant.now()) >= 1);
+
+        assertFalse(tokenRepository.existsById(expired.getId()));
+        assertTrue(tokenRepository.existsById(current.getId()));
+    }
+
+    private String register() {
+        String username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        authenticationService.register(new RegisterRequest(username, PASSWORD, Role.USER));
+        return username;
+    }
+
+    private String login(String username) {
+        return authenticationService.authenticate(new AuthenticationRequest(username, PASSWORD)).getAccessToken();
+    }
+
+    private AuthenticationResponse refresh(String refreshToken) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + refreshToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        authenticationService.refreshToken(request, response);
+        assertEquals(200, response.getStatus());
+        return objectMapper.readValue(response.getContentAsByteArray(), AuthenticationResponse.class);
+    }
+
+    private double revokedTokenFailures() {
+        return meterRegistry.get("auth.failures").tag("reason", "revoked_token").counter().count();
+    }
+
+    private TokenClaims claims(String token) {
+        return jwtService.parse(token).orElseThrow();
+    }
+
+    private static Token token(Instant expiresAt) {
+        return Token.builder()
+                .token(UUID.randomUUID().toString())
+                .tokenType(TokenType.BEARER)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
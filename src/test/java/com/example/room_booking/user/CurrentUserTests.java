@@ -0,0 +1,90 @@
+package com.example.room_booking.user;
+
+import com.example.room_booking.auth.AuthenticationService;
+import com.example.room_booking.auth.RegisterRequest;
+import com.example.room_booking.service.RoomService;
+import com.example.room_booking.support.CapturingInspector;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.example.room_booking.support.TestFixtures.newRoom;
+import static com.example.room_booking.support.TestProperties.CAPTURE_STATEMENTS;
+import static com.example.room_booking.support.TestProperties.NO_AUDIT;
+import static com.example.room_booking.support.TestProperties.NO_OUTBOX_RELAY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the user lookups of an authenticated booking request, which passes the JWT
+ * filter, the access log, the booking service and JPA auditing.
+ */
+@SpringBootTest(properties = {
+        CAPTURE_STATEMENTS,
+        NO_OUTBOX_RELAY,
+        NO_AUDIT
+})
+@AutoConfigureMockMvc
+class CurrentUserTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void userIsResolvedOncePerRequest() throws Exception {
+        String username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        // registering evicts the user from the cache, so the first request has to load it
+        String token = authenticationService.register(new RegisterRequest(username, "secret", Role.USER))
+                .getAccessToken();
+        Long roomId = newRoom(roomService).id();
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+
+        CapturingInspector.clear();
+        book(token, roomId, checkIn).andExpect(jsonPath("$.customerName").value(username));
+        assertEquals(1, userQueries());
+
+        CapturingInspector.clear();
+        String booking = book(token, roomId, checkIn.plusDays(2)).andReturn().getResponse().getContentAsString();
+        assertEquals(0, userQueries());
+
+        Long userId = userRepository.findByUsername(username).orElseThrow().getId();
+        assertEquals(userId, jdbcTemplate.queryForObject(
+                "select creator_id from booking where id = ?", Long.class, JsonPath.<Integer>read(booking, "$.id")));
+    }
+
+    private ResultActions book(String token, Long roomId, LocalDate checkIn) throws Exception {
+        return mockMvc.perform(post("/bookings")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"roomId\":%d,\"checkInDate\":\"%s\",\"checkOutDate\":\"%s\"}"
+                                .formatted(roomId, checkIn, checkIn.plusDays(2))))
+                .andExpect(status().isCreated());
+    }
+
+    private long userQueries() {
+        return CapturingInspector.statements().stream().filter(sql -> sql.contains(" from _user ")).count();
+    }
+}